@@ -0,0 +1,85 @@
+package com.graduationProject.gpManagementSystem.controller;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.List;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.graduationProject.gpManagementSystem.dto.ApiResponse;
+import com.graduationProject.gpManagementSystem.dto.BulkRegistrationResultDTO;
+import com.graduationProject.gpManagementSystem.dto.BulkStatusUpdateDTO;
+import com.graduationProject.gpManagementSystem.dto.BulkStatusUpdateResultDTO;
+import com.graduationProject.gpManagementSystem.dto.CreateUserDTO;
+import com.graduationProject.gpManagementSystem.dto.UserPageDTO;
+import com.graduationProject.gpManagementSystem.enums.Role;
+import com.graduationProject.gpManagementSystem.enums.Status;
+import com.graduationProject.gpManagementSystem.security.AdminUserService;
+import com.graduationProject.gpManagementSystem.security.BulkRegistrationService;
+
+import jakarta.validation.Valid;
+
+import lombok.RequiredArgsConstructor;
+
+// Admin-only (see SecurityConfiguration: api/v1/admin/** requires ADMIN)
+@RestController
+@RequestMapping("api/v1/admin/users")
+@RequiredArgsConstructor
+public class AdminUserController {
+
+    private final BulkRegistrationService bulkRegistrationService;
+    private final AdminUserService adminUserService;
+
+    // e.g. GET api/v1/admin/users?status=PENDING&role=STUDENT&after=0&limit=100, then pass nextAfter back
+    @GetMapping
+    public ResponseEntity<ApiResponse<UserPageDTO>> listUsers(
+            @RequestParam Status status,
+            @RequestParam(required = false) Role role,
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        UserPageDTO page = adminUserService.listUsers(status, role, after, limit);
+        return ResponseEntity.ok(new ApiResponse<>("success", "Users retrieved successfully", page));
+    }
+
+    // Bulk approve/reject (or any other status) with set-based updates
+    @PutMapping("/status")
+    public ResponseEntity<ApiResponse<BulkStatusUpdateResultDTO>> updateStatus(
+            @Valid @RequestBody BulkStatusUpdateDTO request
+    ) {
+        BulkStatusUpdateResultDTO result = adminUserService.updateStatus(request);
+        return ResponseEntity.ok(new ApiResponse<>(
+            "success",
+            result.getUpdated() + " users set to " + result.getStatus(),
+            result
+        ));
+    }
+
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<BulkRegistrationResultDTO>> bulkRegister(
+            @RequestBody List<CreateUserDTO> request
+    ) {
+        return ResponseEntity.ok(response(bulkRegistrationService.register(request)));
+    }
+
+    @PostMapping(value = "/bulk", consumes = "text/csv")
+    public ResponseEntity<ApiResponse<BulkRegistrationResultDTO>> bulkRegisterCsv(Reader csv) throws IOException {
+        return ResponseEntity.ok(response(bulkRegistrationService.registerCsv(csv)));
+    }
+
+    private static ApiResponse<BulkRegistrationResultDTO> response(BulkRegistrationResultDTO result) {
+        return new ApiResponse<>(
+            result.getCreated() > 0 ? "success" : "error",
+            result.getCreated() + " of " + result.getTotal() + " users registered",
+            result
+        );
+    }
+}
@@ -9,17 +9,23 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.graduationProject.gpManagementSystem.dto.ApiResponse;
 import com.graduationProject.gpManagementSystem.dto.ChangePasswordDTO;
 import com.graduationProject.gpManagementSystem.dto.CreateUserDTO;
+import com.graduationProject.gpManagementSystem.dto.IntrospectRequestDTO;
+import com.graduationProject.gpManagementSystem.dto.IntrospectResponseDTO;
 import com.graduationProject.gpManagementSystem.dto.LoginRequestDTO;
 import com.graduationProject.gpManagementSystem.dto.LoginResponseDTO;
+import com.graduationProject.gpManagementSystem.dto.RefreshTokenRequestDTO;
 import com.graduationProject.gpManagementSystem.model.User;
 import com.graduationProject.gpManagementSystem.security.AuthService;
+import com.graduationProject.gpManagementSystem.security.TokenIntrospectionService;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 @RestController
@@ -28,6 +34,7 @@ import jakarta.validation.Valid;
 public class AuthController {
 
     private final AuthService service;
+    private final TokenIntrospectionService introspectionService;
 
 
 
@@ -54,9 +61,26 @@ public class AuthController {
     
     @PostMapping("/login")
     public ResponseEntity<LoginResponseDTO> login(
-            @RequestBody LoginRequestDTO request
+            @RequestBody LoginRequestDTO request,
+            HttpServletRequest httpRequest
     ) {
-        return ResponseEntity.ok(service.login(request));
+        return ResponseEntity.ok(service.login(request, httpRequest.getRemoteAddr()));
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<LoginResponseDTO> refresh(
+            @Valid @RequestBody RefreshTokenRequestDTO request
+    ) {
+        return ResponseEntity.ok(service.refresh(request));
+    }
+
+    // Internal only: callers authenticate with the shared X-Internal-Api-Key, not a user token
+    @PostMapping("/introspect")
+    public ResponseEntity<IntrospectResponseDTO> introspect(
+            @RequestHeader(value = "X-Internal-Api-Key", required = false) String apiKey,
+            @Valid @RequestBody IntrospectRequestDTO request
+    ) {
+        return ResponseEntity.ok(introspectionService.introspect(apiKey, request.getTokens()));
     }
 
     @PutMapping("/{userId}/approve")
@@ -0,0 +1,142 @@
+package com.graduationProject.gpManagementSystem.controller;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.graduationProject.gpManagementSystem.dto.ApiResponse;
+import com.graduationProject.gpManagementSystem.dto.PhotoDTO;
+import com.graduationProject.gpManagementSystem.exception.InvalidPhotoException;
+import com.graduationProject.gpManagementSystem.exception.ResourceNotFoundException;
+import com.graduationProject.gpManagementSystem.storage.PhotoService;
+import com.graduationProject.gpManagementSystem.storage.PhotoStore;
+import com.graduationProject.gpManagementSystem.storage.ThumbnailGenerator;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("api/v1")
+@RequiredArgsConstructor
+public class PhotoController {
+
+    // a stored photo never changes, so any cache may keep it forever
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+
+    private final PhotoService photoService;
+    private final PhotoStore photoStore;
+    private final ThumbnailGenerator thumbnailGenerator;
+
+    // multipart/form-data with a "photo" file field
+    @PutMapping("/users/{userId}/photo")
+    public ResponseEntity<ApiResponse<PhotoDTO>> uploadPhoto(
+            @PathVariable Long userId,
+            HttpServletRequest request,
+            Authentication authentication
+    ) throws IOException {
+        PhotoDTO photo = photoService.upload(userId, request, authentication);
+        return ResponseEntity.status(HttpStatus.CREATED)
+            .body(new ApiResponse<>("success", "Photo uploaded successfully", photo));
+    }
+
+    // Served by hash only: no database access, 304 on a matching If-None-Match without
+    // touching the disk, and the body is sent with sendfile / FileChannel.transferTo.
+    @GetMapping("/photos/{hash}")
+    public void downloadPhoto(
+            @PathVariable String hash,
+            @RequestParam(required = false) Integer size,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        if (!PhotoStore.isValidHash(hash)) {
+            throw new ResourceNotFoundException("Photo not found");
+        }
+        if (size != null && !thumbnailGenerator.isSupportedSize(size)) {
+            throw new InvalidPhotoException("Supported thumbnail sizes are " + thumbnailGenerator.sizes());
+        }
+
+        String etag = "\"" + hash + (size != null ? "-" + size : "") + "\"";
+        String cacheControl = IMMUTABLE;
+        Path file = size != null ? photoStore.thumbnail(hash, size) : photoStore.original(hash);
+        if (size != null && !Files.exists(file)) {
+            // thumbnail not rendered yet: serve the original once, uncached, and (re)queue it.
+            // Unknown hashes stop here, so they never take a slot on the thumbnail queue.
+            file = photoStore.original(hash);
+            if (!Files.exists(file)) {
+                throw new ResourceNotFoundException("Photo not found");
+            }
+            thumbnailGenerator.generateAsync(hash);
+            etag = "\"" + hash + "\"";
+            cacheControl = "no-cache";
+        }
+
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            response.setHeader(HttpHeaders.ETAG, etag);
+            response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+            return;
+        }
+        if (!Files.isRegularFile(file)) {
+            throw new ResourceNotFoundException("Photo not found");
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            response.setStatus(HttpStatus.OK.value());
+            response.setContentType(contentType(channel));
+            response.setContentLengthLong(length);
+            response.setHeader(HttpHeaders.ETAG, etag);
+            response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+
+            if (Boolean.TRUE.equals(request.getAttribute("org.apache.tomcat.sendfile.support"))) {
+                // Tomcat streams the file with sendfile(2) after the request returns
+                request.setAttribute("org.apache.tomcat.sendfile.filename", file.toAbsolutePath().toString());
+                request.setAttribute("org.apache.tomcat.sendfile.start", 0L);
+                request.setAttribute("org.apache.tomcat.sendfile.end", length);
+                return;
+            }
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < length) {
+                position += channel.transferTo(position, length - position, out);
+            }
+        }
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals(etag) || trimmed.equals("*")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String contentType(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(12);
+        channel.read(header, 0);
+        String type = PhotoStore.sniffContentType(header.array(), header.position());
+        return type != null ? type : "application/octet-stream";
+    }
+}
@@ -0,0 +1,34 @@
+package com.graduationProject.gpManagementSystem.dto;
+
+import com.graduationProject.gpManagementSystem.enums.Role;
+import com.graduationProject.gpManagementSystem.enums.Status;
+import com.graduationProject.gpManagementSystem.model.User;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// What the admin queue shows of a user (no password hash)
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class AdminUserDTO {
+
+    private Long id;
+    private String username;
+    private String email;
+    private Role role;
+    private Status status;
+
+    public static AdminUserDTO from(User user) {
+        return AdminUserDTO.builder()
+            .id(user.getId())
+            .username(user.getUserName())
+            .email(user.getEmail())
+            .role(user.getRole())
+            .status(user.getStatus())
+            .build();
+    }
+}
@@ -0,0 +1,35 @@
+package com.graduationProject.gpManagementSystem.dto;
+
+import java.util.List;
+
+import com.graduationProject.gpManagementSystem.enums.BulkRowStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkRegistrationResultDTO {
+
+    private int total;
+    private int created;
+    private int failed;
+    private List<RowResult> rows;
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class RowResult {
+        // 1-based position in the submitted array or CSV (header excluded)
+        private int row;
+        private String email;
+        private BulkRowStatus status;
+        private Long userId;
+        private String message;
+    }
+}
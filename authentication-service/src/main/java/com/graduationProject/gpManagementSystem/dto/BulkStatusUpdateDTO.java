@@ -0,0 +1,25 @@
+package com.graduationProject.gpManagementSystem.dto;
+
+import java.util.List;
+
+import com.graduationProject.gpManagementSystem.enums.Status;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkStatusUpdateDTO {
+
+    @NotEmpty(message = "At least one user id is required")
+    @Size(max = 10000, message = "At most 10000 users can be updated at once")
+    private List<Long> userIds;
+
+    @NotNull(message = "Status is required")
+    private Status status;
+}
@@ -0,0 +1,20 @@
+package com.graduationProject.gpManagementSystem.dto;
+
+import com.graduationProject.gpManagementSystem.enums.Status;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkStatusUpdateResultDTO {
+
+    private Status status;
+    private int requested;
+    // users whose status actually changed; unknown ids and users already in the status are skipped
+    private int updated;
+}
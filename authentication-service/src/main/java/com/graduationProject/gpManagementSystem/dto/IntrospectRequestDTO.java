@@ -0,0 +1,18 @@
+package com.graduationProject.gpManagementSystem.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class IntrospectRequestDTO {
+
+    // raw access tokens, without the "Bearer " prefix
+    @NotEmpty(message = "At least one token is required")
+    private List<String> tokens;
+}
@@ -0,0 +1,36 @@
+package com.graduationProject.gpManagementSystem.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class IntrospectResponseDTO {
+
+    // one entry per requested token, in request order
+    private List<TokenInfo> results;
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class TokenInfo {
+        // false for invalid, expired or revoked tokens; no claims are returned then
+        private boolean active;
+        private String subject;
+        private Long userId;
+        private String role;
+        private Instant issuedAt;
+        private Instant expiresAt;
+    }
+}
@@ -13,7 +13,10 @@ import org.springframework.http.HttpStatus;
 public class LoginResponseDTO {
     
     private String token;
+    private String refreshToken;
     private String tokenType;
+    // access token lifetime in seconds
+    private Long expiresIn;
     private String message;
     private HttpStatus statusCode;
 }
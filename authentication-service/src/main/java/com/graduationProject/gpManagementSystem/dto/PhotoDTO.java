@@ -0,0 +1,21 @@
+package com.graduationProject.gpManagementSystem.dto;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PhotoDTO {
+
+    private String hash;
+    private String filename;
+    private String url;
+    // size in px -> url; generated in the background right after upload
+    private Map<Integer, String> thumbnails;
+}
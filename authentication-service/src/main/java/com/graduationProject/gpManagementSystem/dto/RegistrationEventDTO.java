@@ -0,0 +1,43 @@
+package com.graduationProject.gpManagementSystem.dto;
+
+import java.time.Instant;
+
+import com.graduationProject.gpManagementSystem.enums.RegistrationEventType;
+import com.graduationProject.gpManagementSystem.enums.Role;
+import com.graduationProject.gpManagementSystem.enums.Status;
+import com.graduationProject.gpManagementSystem.model.User;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Pushed to /topic/admin/registrations and to the affected user's /user/queue/registration
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RegistrationEventDTO {
+
+    private RegistrationEventType type;
+    private Long userId;
+    private String username;
+    private String email;
+    private Role role;
+    private Status status;
+    // number of users covered by a BULK_* event
+    private Integer count;
+    private Instant occurredAt;
+
+    public static RegistrationEventDTO of(RegistrationEventType type, User user) {
+        return RegistrationEventDTO.builder()
+            .type(type)
+            .userId(user.getId())
+            .username(user.getUserName())
+            .email(user.getEmail())
+            .role(user.getRole())
+            .status(user.getStatus())
+            .occurredAt(Instant.now())
+            .build();
+    }
+}
@@ -0,0 +1,20 @@
+package com.graduationProject.gpManagementSystem.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserPageDTO {
+
+    private List<AdminUserDTO> users;
+    // pass as ?after= to get the next page; null on the last page
+    private Long nextAfter;
+    private boolean hasMore;
+}
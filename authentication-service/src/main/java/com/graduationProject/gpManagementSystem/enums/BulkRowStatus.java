@@ -0,0 +1,8 @@
+package com.graduationProject.gpManagementSystem.enums;
+
+public enum BulkRowStatus {
+    CREATED,
+    DUPLICATE,
+    INVALID,
+    FAILED
+}
@@ -0,0 +1,10 @@
+package com.graduationProject.gpManagementSystem.enums;
+
+public enum RegistrationEventType {
+    CREATED,
+    APPROVED,
+    REJECTED,
+    // one summary for a bulk import or bulk status change instead of thousands of admin messages
+    BULK_CREATED,
+    BULK_STATUS_CHANGED
+}
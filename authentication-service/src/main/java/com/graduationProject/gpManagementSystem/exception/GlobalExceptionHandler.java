@@ -3,8 +3,10 @@ package com.graduationProject.gpManagementSystem.exception;
 import java.time.LocalDateTime;
 
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 // import org.springframework.security.core.AuthenticationException;
  import org.springframework.validation.FieldError;
  import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -47,6 +49,89 @@ public class GlobalExceptionHandler {
 
 
 
+@ExceptionHandler(PasswordHashingOverloadedException.class)
+public ResponseEntity<ErrorResponse> handlePasswordHashingOverloadedException(PasswordHashingOverloadedException ex, WebRequest request) {
+    ErrorResponse errorDetails = new ErrorResponse(
+        LocalDateTime.now(),
+        ex.getMessage(),
+        request.getDescription(false),
+        HttpStatus.SERVICE_UNAVAILABLE
+    );
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+        .body(errorDetails);
+}
+
+
+
+@ExceptionHandler(LoginRateLimitedException.class)
+public ResponseEntity<ErrorResponse> handleLoginRateLimitedException(LoginRateLimitedException ex, WebRequest request) {
+    ErrorResponse errorDetails = new ErrorResponse(
+        LocalDateTime.now(),
+        ex.getMessage(),
+        request.getDescription(false),
+        HttpStatus.TOO_MANY_REQUESTS
+    );
+    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+        .body(errorDetails);
+}
+
+
+
+@ExceptionHandler(InvalidRefreshTokenException.class)
+public ResponseEntity<ErrorResponse> handleInvalidRefreshTokenException(InvalidRefreshTokenException ex, WebRequest request) {
+    ErrorResponse errorDetails = new ErrorResponse(
+        LocalDateTime.now(),
+        ex.getMessage(),
+        request.getDescription(false),
+        HttpStatus.UNAUTHORIZED
+    );
+    return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(errorDetails);
+}
+
+
+
+@ExceptionHandler(InvalidBulkRequestException.class)
+public ResponseEntity<ErrorResponse> handleInvalidBulkRequestException(InvalidBulkRequestException ex, WebRequest request) {
+    ErrorResponse errorDetails = new ErrorResponse(
+        LocalDateTime.now(),
+        ex.getMessage(),
+        request.getDescription(false),
+        HttpStatus.BAD_REQUEST
+    );
+    return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorDetails);
+}
+
+
+
+// otherwise the catch-all below would turn an authorization failure into a 500
+@ExceptionHandler(AccessDeniedException.class)
+public ResponseEntity<ErrorResponse> handleAccessDeniedException(AccessDeniedException ex, WebRequest request) {
+    ErrorResponse errorDetails = new ErrorResponse(
+        LocalDateTime.now(),
+        ex.getMessage(),
+        request.getDescription(false),
+        HttpStatus.FORBIDDEN
+    );
+    return ResponseEntity.status(HttpStatus.FORBIDDEN).body(errorDetails);
+}
+
+
+
+@ExceptionHandler(InvalidPhotoException.class)
+public ResponseEntity<ErrorResponse> handleInvalidPhotoException(InvalidPhotoException ex, WebRequest request) {
+    ErrorResponse errorDetails = new ErrorResponse(
+        LocalDateTime.now(),
+        ex.getMessage(),
+        request.getDescription(false),
+        HttpStatus.BAD_REQUEST
+    );
+    return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorDetails);
+}
+
+
+
 @ExceptionHandler(InvalidPasswordException.class)
 public ResponseEntity<ErrorResponse> handleInvalidPasswordException(InvalidPasswordException ex, WebRequest request) {
     ErrorResponse errorDetails = new ErrorResponse(
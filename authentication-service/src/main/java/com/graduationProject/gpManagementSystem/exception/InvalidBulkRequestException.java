@@ -0,0 +1,7 @@
+package com.graduationProject.gpManagementSystem.exception;
+
+public class InvalidBulkRequestException extends RuntimeException {
+    public InvalidBulkRequestException(String message) {
+        super(message);
+    }
+}
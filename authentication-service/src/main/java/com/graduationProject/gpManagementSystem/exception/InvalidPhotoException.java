@@ -0,0 +1,7 @@
+package com.graduationProject.gpManagementSystem.exception;
+
+public class InvalidPhotoException extends RuntimeException {
+    public InvalidPhotoException(String message) {
+        super(message);
+    }
+}
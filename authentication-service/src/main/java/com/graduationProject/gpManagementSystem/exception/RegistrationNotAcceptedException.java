@@ -0,0 +1,10 @@
+package com.graduationProject.gpManagementSystem.exception;
+
+import org.springframework.security.authentication.AccountStatusException;
+
+// Thrown by the authentication provider once the password matched but the account is not ACCEPTED
+public class RegistrationNotAcceptedException extends AccountStatusException {
+    public RegistrationNotAcceptedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,43 @@
+package com.graduationProject.gpManagementSystem.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// ES256 key pair used to sign JWTs; shared by every auth-service replica through the database
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "jwt_signing_keys")
+public class JwtSigningKey {
+
+    @Id
+    private String kid;
+
+    @Column(nullable = false)
+    private String algorithm;
+
+    // PKCS#8, AES-GCM encrypted with the key-encryption key (SigningKeyCipher)
+    @Column(nullable = false, length = 4096)
+    private String privateKey;
+
+    // base64 X.509 SubjectPublicKeyInfo
+    @Column(nullable = false, length = 4096)
+    private String publicKey;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    // after this instant no token signed with the key can still be valid
+    @Column(nullable = false)
+    private Instant expiresAt;
+}
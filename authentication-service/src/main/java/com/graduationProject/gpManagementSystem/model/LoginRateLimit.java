@@ -0,0 +1,33 @@
+package com.graduationProject.gpManagementSystem.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Shared login token bucket, written only through JdbcRateLimitStore's upsert
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "login_rate_limits")
+public class LoginRateLimit {
+
+    @Id
+    @Column(length = 320)
+    private String bucketKey;
+
+    @Column(nullable = false)
+    private double tokens;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    @Column(nullable = false)
+    private boolean lastAllowed;
+}
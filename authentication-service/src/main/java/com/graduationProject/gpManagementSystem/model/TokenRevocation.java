@@ -0,0 +1,29 @@
+package com.graduationProject.gpManagementSystem.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Per-user revocation watermark: every access token of the user issued at or before
+// revokedBefore is rejected. Read by all services through RevocationListener.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "token_revocations")
+public class TokenRevocation {
+
+    @Id
+    private Long userId;
+
+    @Column(nullable = false)
+    private Instant revokedBefore;
+}
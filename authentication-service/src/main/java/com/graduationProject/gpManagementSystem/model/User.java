@@ -23,7 +23,10 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_status_id", columnList = "status, id"),
+        @Index(name = "idx_users_status_role_id", columnList = "status, role, id")
+})
 @Entity
 
 @JsonIdentityInfo(generator = ObjectIdGenerators.PropertyGenerator.class, property = "id")
@@ -0,0 +1,20 @@
+package com.graduationProject.gpManagementSystem.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.graduationProject.gpManagementSystem.model.JwtSigningKey;
+
+public interface JwtSigningKeyRepository extends JpaRepository<JwtSigningKey, String> {
+
+    List<JwtSigningKey> findByExpiresAtAfterOrderByCreatedAtDesc(Instant now);
+
+    Optional<JwtSigningKey> findFirstByExpiresAtAfterOrderByCreatedAtDesc(Instant now);
+
+    @Transactional
+    long deleteByExpiresAtBefore(Instant now);
+}
@@ -0,0 +1,35 @@
+package com.graduationProject.gpManagementSystem.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.graduationProject.gpManagementSystem.model.TokenRevocation;
+
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, Long> {
+
+    // the watermark only ever moves forward
+    @Modifying
+    @Query(value = "insert into token_revocations (user_id, revoked_before) values (:userId, :revokedBefore) "
+            + "on conflict (user_id) do update set revoked_before = greatest(token_revocations.revoked_before, excluded.revoked_before)",
+            nativeQuery = true)
+    int upsert(@Param("userId") Long userId, @Param("revokedBefore") Instant revokedBefore);
+
+    @Modifying
+    @Query(value = "insert into token_revocations (user_id, revoked_before) select u.id, :revokedBefore from users u where u.id in (:userIds) "
+            + "on conflict (user_id) do update set revoked_before = greatest(token_revocations.revoked_before, excluded.revoked_before)",
+            nativeQuery = true)
+    int upsertAll(@Param("userIds") Collection<Long> userIds, @Param("revokedBefore") Instant revokedBefore);
+
+    // delivered to listeners only when the surrounding transaction commits
+    @Query(value = "select cast(pg_notify(:channel, :payload) as text)", nativeQuery = true)
+    String notify(@Param("channel") String channel, @Param("payload") String payload);
+
+    @Modifying
+    @Query("delete from TokenRevocation r where r.revokedBefore < :cutoff")
+    int deleteOlderThan(@Param("cutoff") Instant cutoff);
+}
@@ -1,7 +1,15 @@
 package com.graduationProject.gpManagementSystem.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.data.domain.Limit;
+import com.graduationProject.gpManagementSystem.enums.Role;
+import com.graduationProject.gpManagementSystem.enums.Status;
 import com.graduationProject.gpManagementSystem.model.User;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -9,11 +17,40 @@ public interface UserRepository extends JpaRepository<User,Integer> {
 
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
-    List<User> findByStatus(String status);
+    List<User> findByStatus(Status status);
     Optional<User> findByUsername(String username);
     Optional<User> findById(Long senderId);
     // Optional<User> findByUserId(int userId);
 
+    // keyset pages for the admin queue, served by idx_users_status_id / idx_users_status_role_id
+    List<User> findByStatusAndIdGreaterThanOrderByIdAsc(Status status, Long afterId, Limit limit);
+    List<User> findByStatusAndRoleAndIdGreaterThanOrderByIdAsc(Status status, Role role, Long afterId, Limit limit);
+
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    interface IdAndEmail {
+        Long getId();
+        String getEmail();
+    }
+
+    @Query("select u.id as id, u.email as email from User u where u.id in :ids and u.status <> :status")
+    List<IdAndEmail> findStatusChangeCandidates(@Param("ids") Collection<Long> ids, @Param("status") Status status);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update User u set u.status = :status where u.id in :ids and u.status <> :status")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("status") Status status);
+
+    @Transactional
+    @Modifying
+    @Query("update User u set u.photoPath = :photoPath, u.photoFilename = :photoFilename where u.id = :id")
+    int updatePhoto(@Param("id") Long id, @Param("photoPath") String photoPath, @Param("photoFilename") String photoFilename);
+
+    @Transactional
+    @Modifying
+    @Query("update User u set u.password = :password where u.email = :email")
+    int updatePasswordByEmail(@Param("email") String email, @Param("password") String password);
+
     
 
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.graduationProject.gpManagementSystem.security;
+
+import org.springframework.security.authentication.CredentialsExpiredException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsChecker;
+
+import com.graduationProject.gpManagementSystem.enums.Status;
+import com.graduationProject.gpManagementSystem.exception.RegistrationNotAcceptedException;
+import com.graduationProject.gpManagementSystem.model.User;
+
+// Post-authentication check: runs after the password matched, on the User the provider already
+// loaded, so login needs no second lookup to read the status
+class AcceptedStatusChecker implements UserDetailsChecker {
+
+    @Override
+    public void check(UserDetails user) {
+        if (!user.isCredentialsNonExpired()) {
+            throw new CredentialsExpiredException("User credentials have expired");
+        }
+        if (user instanceof User entity && entity.getStatus() != Status.ACCEPTED) {
+            throw new RegistrationNotAcceptedException("Registration has not been accepted");
+        }
+    }
+}
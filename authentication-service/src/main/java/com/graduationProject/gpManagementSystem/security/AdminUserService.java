@@ -0,0 +1,113 @@
+package com.graduationProject.gpManagementSystem.security;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.graduationProject.gpManagementSystem.dto.AdminUserDTO;
+import com.graduationProject.gpManagementSystem.dto.BulkStatusUpdateDTO;
+import com.graduationProject.gpManagementSystem.dto.BulkStatusUpdateResultDTO;
+import com.graduationProject.gpManagementSystem.dto.RegistrationEventDTO;
+import com.graduationProject.gpManagementSystem.dto.UserPageDTO;
+import com.graduationProject.gpManagementSystem.enums.RegistrationEventType;
+import com.graduationProject.gpManagementSystem.enums.Role;
+import com.graduationProject.gpManagementSystem.enums.Status;
+import com.graduationProject.gpManagementSystem.model.User;
+import com.graduationProject.gpManagementSystem.repository.UserRepository;
+import com.graduationProject.gpManagementSystem.websocket.RegistrationEventRelay;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class AdminUserService {
+
+    static final int MAX_PAGE_SIZE = 500;
+    private static final int UPDATE_CHUNK_SIZE = 1000;
+
+    private final UserRepository repository;
+    private final CachingUserDetailsService userDetailsService;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Keyset pagination: "id > after order by id limit n" reads only the rows of the page
+    // from the (status[, role], id) index, however deep into the queue the admin is.
+    @Transactional(readOnly = true)
+    public UserPageDTO listUsers(Status status, Role role, long after, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // one extra row tells whether another page exists
+        Limit fetch = Limit.of(pageSize + 1);
+        List<User> users = role == null
+            ? repository.findByStatusAndIdGreaterThanOrderByIdAsc(status, after, fetch)
+            : repository.findByStatusAndRoleAndIdGreaterThanOrderByIdAsc(status, role, after, fetch);
+
+        boolean hasMore = users.size() > pageSize;
+        List<AdminUserDTO> page = users.stream().limit(pageSize).map(AdminUserDTO::from).toList();
+        return UserPageDTO.builder()
+            .users(page)
+            .hasMore(hasMore)
+            .nextAfter(hasMore ? page.get(page.size() - 1).getId() : null)
+            .build();
+    }
+
+    // One UPDATE per 1000 ids instead of load-modify-save per user
+    @Transactional
+    public BulkStatusUpdateResultDTO updateStatus(BulkStatusUpdateDTO request) {
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(request.getUserIds()));
+        Status status = request.getStatus();
+        int updated = 0;
+        for (int from = 0; from < ids.size(); from += UPDATE_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + UPDATE_CHUNK_SIZE, ids.size()));
+            List<UserRepository.IdAndEmail> changed = repository.findStatusChangeCandidates(chunk, status);
+            if (changed.isEmpty()) {
+                continue;
+            }
+            updated += repository.updateStatus(chunk, status);
+
+            List<Long> changedIds = new ArrayList<>(changed.size());
+            for (UserRepository.IdAndEmail user : changed) {
+                changedIds.add(user.getId());
+                userDetailsService.evict(user.getEmail());
+                eventPublisher.publishEvent(new RegistrationEventRelay.UserOnly(RegistrationEventDTO.builder()
+                    .type(eventType(status))
+                    .userId(user.getId())
+                    .email(user.getEmail())
+                    .status(status)
+                    .occurredAt(Instant.now())
+                    .build()));
+            }
+            if (status != Status.ACCEPTED) {
+                refreshTokenService.revokeAll(changedIds);
+                tokenRevocationService.revokeUsers(changedIds);
+            }
+        }
+        if (updated > 0) {
+            eventPublisher.publishEvent(RegistrationEventDTO.builder()
+                .type(RegistrationEventType.BULK_STATUS_CHANGED)
+                .status(status)
+                .count(updated)
+                .occurredAt(Instant.now())
+                .build());
+        }
+        return BulkStatusUpdateResultDTO.builder()
+            .status(status)
+            .requested(ids.size())
+            .updated(updated)
+            .build();
+    }
+
+    private static RegistrationEventType eventType(Status status) {
+        return switch (status) {
+            case ACCEPTED -> RegistrationEventType.APPROVED;
+            case REJECTED -> RegistrationEventType.REJECTED;
+            default -> RegistrationEventType.BULK_STATUS_CHANGED;
+        };
+    }
+}
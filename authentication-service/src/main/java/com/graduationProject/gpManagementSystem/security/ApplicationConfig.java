@@ -2,19 +2,26 @@ package com.graduationProject.gpManagementSystem.security;
 
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
-import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import com.graduationProject.gpManagementSystem.repository.UserRepository;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+@Slf4j
 @Configuration
 @RequiredArgsConstructor
 
@@ -22,6 +29,28 @@ import com.graduationProject.gpManagementSystem.repository.UserRepository;
 public class ApplicationConfig {
 
     private final UserRepository repositry;
+    private final MeterRegistry meterRegistry;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final AuthPhaseTimers authPhaseTimers;
+
+    @Value("${security.user-cache.ttl:5m}")
+    private Duration userCacheTtl;
+
+    @Value("${security.user-cache.max-size:10000}")
+    private long userCacheMaxSize;
+
+    // 0 = benchmark the host at startup and pick the highest cost within the latency budget
+    @Value("${security.password.bcrypt.strength:0}")
+    private int bcryptStrength;
+
+    @Value("${security.password.bcrypt.target-latency:250ms}")
+    private Duration bcryptTargetLatency;
+
+    @Value("${security.password.bcrypt.min-strength:10}")
+    private int bcryptMinStrength;
+
+    @Value("${security.password.bcrypt.max-strength:14}")
+    private int bcryptMaxStrength;
 
 
     //to solve error only
@@ -40,15 +69,20 @@ public class ApplicationConfig {
     // appears like this when i replace it with lambda
     
     @Bean
-    public UserDetailsService userDetailsService(){
-        return username -> repositry.findByEmail(username).orElseThrow(() ->new UsernameNotFoundException("user not found"));
+    public CachingUserDetailsService userDetailsService(){
+        CachingUserDetailsService userDetailsService = new CachingUserDetailsService(repositry, userCacheTtl, userCacheMaxSize);
+        CaffeineCacheMetrics.monitor(meterRegistry, userDetailsService.cache(), "userDetails");
+        return userDetailsService;
     }
 
     @Bean
     public AuthenticationProvider authenticationProvider() {
-        DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
-        authProvider.setUserDetailsService(userDetailsService());
+        TimedDaoAuthenticationProvider authProvider = new TimedDaoAuthenticationProvider(authPhaseTimers);
+        authProvider.setTimedUserDetailsService(userDetailsService());
         authProvider.setPasswordEncoder(passwordEncoder());
+        // only ACCEPTED users get through; the authenticated principal is the loaded User
+        authProvider.setTimedPostAuthenticationChecks(new AcceptedStatusChecker());
+        authProvider.setUserDetailsPasswordService(new UserPasswordUpgradeService(repositry, userDetailsService()));
         return authProvider;
     }
 
@@ -58,8 +92,19 @@ public class ApplicationConfig {
     }
 
 
+    // BCrypt runs on the bounded hashing pool, never directly on the request thread.
+    // New hashes are stored as {bcrypt}$2a$NN$..., legacy unprefixed hashes still match
+    // and are rehashed on the next successful login (see UserPasswordUpgradeService).
     @Bean
     public PasswordEncoder passwordEncoder(){
-        return new BCryptPasswordEncoder();
+        int strength = bcryptStrength > 0
+                ? bcryptStrength
+                : AdaptiveBCryptPasswordEncoder.calibrate(bcryptTargetLatency, bcryptMinStrength, bcryptMaxStrength);
+        AdaptiveBCryptPasswordEncoder bcrypt = new AdaptiveBCryptPasswordEncoder(strength);
+        log.info("Using BCrypt cost {} for new password hashes", strength);
+
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        return new ExecutorPasswordEncoder(delegating, passwordHashingExecutor);
     }
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.graduationProject.gpManagementSystem.security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// Per-phase latency of login and registration (auth.login.phase / auth.register.phase, tagged
+// by phase), so a spike can be pinned on the user lookup, BCrypt, the status check or token
+// signing. SLO buckets are set in application.properties; timings recorded inside a sampled
+// trace carry its id as a Prometheus exemplar.
+@Component
+public class AuthPhaseTimers {
+
+    static final String LOGIN = "auth.login.phase";
+    static final String REGISTER = "auth.register.phase";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public AuthPhaseTimers(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> T login(String phase, Supplier<T> work) {
+        return timer(LOGIN, phase).record(work);
+    }
+
+    public void login(String phase, Runnable work) {
+        timer(LOGIN, phase).record(work);
+    }
+
+    public <T> T register(String phase, Supplier<T> work) {
+        return timer(REGISTER, phase).record(work);
+    }
+
+    private Timer timer(String name, String phase) {
+        return timers.computeIfAbsent(name + ':' + phase, key -> Timer.builder(name)
+            .description("Time spent in one phase of " + (name.equals(LOGIN) ? "login" : "registration"))
+            .tag("phase", phase)
+            .register(meterRegistry));
+    }
+}
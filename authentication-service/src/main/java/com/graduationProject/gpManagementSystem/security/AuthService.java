@@ -1,17 +1,24 @@
 package com.graduationProject.gpManagementSystem.security;
 
 import java.util.Optional;
+import java.util.regex.Pattern;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import lombok.RequiredArgsConstructor;
 
 import com.graduationProject.gpManagementSystem.dto.*;
+import com.graduationProject.gpManagementSystem.enums.RegistrationEventType;
 import com.graduationProject.gpManagementSystem.enums.Status;
 import com.graduationProject.gpManagementSystem.exception.InvalidPasswordException;
+import com.graduationProject.gpManagementSystem.exception.PasswordHashingOverloadedException;
+import com.graduationProject.gpManagementSystem.exception.RegistrationNotAcceptedException;
 import com.graduationProject.gpManagementSystem.exception.ResourceNotFoundException;
 import com.graduationProject.gpManagementSystem.exception.UserAlreadyExistException;
 import com.graduationProject.gpManagementSystem.model.User;
@@ -23,56 +30,89 @@ import jakarta.persistence.EntityNotFoundException;
 @RequiredArgsConstructor
 public class AuthService {
 
+    // compiled once; String.matches recompiled it on every registration and password change
+    private static final Pattern PASSWORD_PATTERN =
+        Pattern.compile("^(?=.*[A-Z])(?=.*[a-z])(?=.*\\d)(?=.*[@$!%*?&])[A-Za-z\\d@$!%*?&]{8,}$");
+
     private final PasswordEncoder passwordEncoder; 
     private final UserRepository repository;
     private final JwtUtils jwtService;
     private final AuthenticationManager authenticationManager;
+    private final CachingUserDetailsService userDetailsService;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
+    private final LoginRateLimiter loginRateLimiter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AuthPhaseTimers timers;
 
     public User registerUser(CreateUserDTO request) {
         // Validate email
-        if (repository.existsByEmail(request.getEmail())) {
+        if (timers.register("duplicate_check", () -> repository.existsByEmail(request.getEmail()))) {
             throw new UserAlreadyExistException("A user with this email already exists.");
         }
 
         // Validate password
-        if (!isValidPassword(request.getPassword())) {
+        if (!timers.register("password_policy", () -> isValidPassword(request.getPassword()))) {
             throw new InvalidPasswordException("Password must be at least 8 characters long and include uppercase, lowercase, digit, and special character.");
         }
 
         User user = User.builder()
             .username(request.getUsername())
             .email(request.getEmail())
-            .password(passwordEncoder.encode(request.getPassword()))
+            .password(timers.register("password_hash", () -> passwordEncoder.encode(request.getPassword())))
             .role(request.getRole())
             .status(Status.ACCEPTED)
             .build();
         
-        return repository.save(user);
+        User saved = timers.register("insert", () -> repository.save(user));
+        eventPublisher.publishEvent(RegistrationEventDTO.of(RegistrationEventType.CREATED, saved));
+        return saved;
     }
 
-    public LoginResponseDTO login(LoginRequestDTO request) {
-        authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(
-            request.getEmail(),
-            request.getPassword()
-        ));
-        
-        User user = repository.findByEmail(request.getEmail())
-            .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-            
-        if (user.getStatus().toString().equals("ACCEPTED")) {
-            String jwtToken = jwtService.generateToken(user);
-            return LoginResponseDTO.builder()
-                .token(jwtToken)
-                .statusCode(HttpStatus.ACCEPTED)
-                .tokenType("Bearer")
-                .message("login successful")
-                .build();
-        } else {
+    public LoginResponseDTO login(LoginRequestDTO request, String clientIp) {
+        // rejected attempts never reach the user lookup or BCrypt
+        timers.login("rate_limit", () -> loginRateLimiter.check(request.getEmail(), clientIp));
+        Authentication authentication;
+        try {
+            // user_lookup, password_verify and status_check are timed inside (TimedDaoAuthenticationProvider)
+            authentication = timers.login("authenticate", () -> authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(
+                request.getEmail(),
+                request.getPassword()
+            )));
+        } catch (RegistrationNotAcceptedException e) {
             return LoginResponseDTO.builder()
                 .statusCode(HttpStatus.FORBIDDEN)
                 .message("Sorry, you can't login until admin accepts your registration")
                 .build();
+        } catch (InternalAuthenticationServiceException e) {
+            // the provider wraps anything thrown while loading the user, including hashing overload
+            if (e.getCause() instanceof PasswordHashingOverloadedException overloaded) {
+                throw overloaded;
+            }
+            throw e;
         }
+
+        // the provider hands back the User it loaded and status-checked, no second lookup
+        User user = (User) authentication.getPrincipal();
+        String accessToken = timers.login("token_sign", () -> jwtService.generateToken(user));
+        String refreshToken = timers.login("refresh_token_issue", () -> refreshTokenService.issue(user));
+        return tokenResponse(accessToken, refreshToken, "login successful");
+    }
+
+    public LoginResponseDTO refresh(RefreshTokenRequestDTO request) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+        return tokenResponse(jwtService.generateToken(rotation.user()), rotation.refreshToken(), "token refreshed");
+    }
+
+    private LoginResponseDTO tokenResponse(String accessToken, String refreshToken, String message) {
+        return LoginResponseDTO.builder()
+            .token(accessToken)
+            .refreshToken(refreshToken)
+            .expiresIn(jwtService.getAccessTokenTtl().toSeconds())
+            .statusCode(HttpStatus.ACCEPTED)
+            .tokenType("Bearer")
+            .message(message)
+            .build();
     }
 
     public void approveUserRegistration(int userId) {
@@ -81,6 +121,8 @@ public class AuthService {
             User user = userOptional.get();
             user.setStatus(Status.ACCEPTED);
             repository.save(user);
+            userDetailsService.evict(user.getEmail());
+            eventPublisher.publishEvent(RegistrationEventDTO.of(RegistrationEventType.APPROVED, user));
         } else {
             throw new EntityNotFoundException("User not found with ID: " + userId);
         }
@@ -92,6 +134,10 @@ public class AuthService {
             User user = userOptional.get();
             user.setStatus(Status.REJECTED);
             repository.save(user);
+            userDetailsService.evict(user.getEmail());
+            refreshTokenService.revokeAll(user.getId());
+            tokenRevocationService.revokeUser(user.getId());
+            eventPublisher.publishEvent(RegistrationEventDTO.of(RegistrationEventType.REJECTED, user));
         } else {
             throw new EntityNotFoundException("User not found with ID: " + userId);
         }
@@ -115,11 +161,14 @@ public class AuthService {
 
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
         repository.save(user);
+        userDetailsService.evict(user.getEmail());
+        // sessions on other devices must log in again with the new password
+        refreshTokenService.revokeAll(user.getId());
+        tokenRevocationService.revokeUser(user.getId());
     }
 
     // Utility function
-    private boolean isValidPassword(String password) {
-        String passwordPattern = "^(?=.*[A-Z])(?=.*[a-z])(?=.*\\d)(?=.*[@$!%*?&])[A-Za-z\\d@$!%*?&]{8,}$";
-        return password.matches(passwordPattern);
+    static boolean isValidPassword(String password) {
+        return PASSWORD_PATTERN.matcher(password).matches();
     }
 }
@@ -0,0 +1,101 @@
+package com.graduationProject.gpManagementSystem.security;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.graduationProject.gpManagementSystem.exception.PasswordHashingOverloadedException;
+
+import jakarta.annotation.PreDestroy;
+
+// Hashes bulk-registration passwords in parallel on its own bounded pool. It is separate from
+// PasswordHashingExecutor so a cohort import can neither be shed by nor starve logins; by
+// default it takes half the cores. Submission is bounded: when every thread and queue slot is
+// taken the request thread waits for one to free up (it never runs BCrypt itself), and gives up
+// with the same 503 + Retry-After as the login pool if none does within submit-timeout.
+@Component
+public class BulkPasswordHasher {
+
+    private final PasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+    // one permit per running or queued hash (four queued per thread), released when it ends
+    private final Semaphore slots;
+    private final long submitTimeoutMillis;
+    private final long retryAfterSeconds;
+
+    public BulkPasswordHasher(PasswordEncoder passwordEncoder,
+                              @Value("${security.bulk-registration.hash-threads:0}") int threads,
+                              @Value("${security.bulk-registration.submit-timeout:PT30S}") Duration submitTimeout,
+                              @Value("${security.password-hashing.retry-after-seconds:1}") long retryAfterSeconds) {
+        // hash directly with BCrypt instead of going through the login pool
+        this.encoder = passwordEncoder instanceof ExecutorPasswordEncoder executorEncoder
+                ? executorEncoder.getDelegate()
+                : passwordEncoder;
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), // bounded by slots
+                runnable -> {
+                    Thread thread = new Thread(runnable, "bulk-password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.slots = new Semaphore(poolSize * 5);
+        this.submitTimeoutMillis = submitTimeout.toMillis();
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public List<String> hashAll(List<String> rawPasswords) {
+        List<Future<String>> futures = new ArrayList<>(rawPasswords.size());
+        List<String> hashes = new ArrayList<>(rawPasswords.size());
+        try {
+            for (String rawPassword : rawPasswords) {
+                if (!slots.tryAcquire(submitTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                    futures.forEach(future -> future.cancel(true));
+                    throw new PasswordHashingOverloadedException(
+                            "Too many bulk registrations in progress, please retry shortly.", retryAfterSeconds);
+                }
+                // done() runs once however the task ends, including cancellation while queued
+                FutureTask<String> task = new FutureTask<>(() -> encoder.encode(rawPassword)) {
+                    @Override
+                    protected void done() {
+                        slots.release();
+                    }
+                };
+                executor.execute(task);
+                futures.add(task);
+            }
+            for (Future<String> future : futures) {
+                hashes.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing passwords", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+        return hashes;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
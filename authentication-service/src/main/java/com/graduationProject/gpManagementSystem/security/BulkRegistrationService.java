@@ -0,0 +1,223 @@
+package com.graduationProject.gpManagementSystem.security;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.graduationProject.gpManagementSystem.dto.BulkRegistrationResultDTO;
+import com.graduationProject.gpManagementSystem.dto.BulkRegistrationResultDTO.RowResult;
+import com.graduationProject.gpManagementSystem.dto.CreateUserDTO;
+import com.graduationProject.gpManagementSystem.dto.RegistrationEventDTO;
+import com.graduationProject.gpManagementSystem.enums.BulkRowStatus;
+import com.graduationProject.gpManagementSystem.enums.RegistrationEventType;
+import com.graduationProject.gpManagementSystem.enums.Status;
+import com.graduationProject.gpManagementSystem.exception.InvalidBulkRequestException;
+import com.graduationProject.gpManagementSystem.model.User;
+import com.graduationProject.gpManagementSystem.repository.UserRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+// Registers a whole cohort in one request: rows are validated, duplicates are found with one
+// "email in (...)" query per lookup chunk, passwords are hashed in parallel and users are
+// inserted in JDBC batches (hibernate.jdbc.batch_size), one transaction per insert chunk.
+// Every row gets a result, a bad row never fails the others.
+@Service
+public class BulkRegistrationService {
+
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+
+    private final UserRepository repository;
+    private final BulkPasswordHasher passwordHasher;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${security.bulk-registration.max-rows:10000}")
+    private int maxRows;
+
+    @Value("${security.bulk-registration.insert-chunk-size:500}")
+    private int insertChunkSize;
+
+    public BulkRegistrationService(UserRepository repository,
+                                   BulkPasswordHasher passwordHasher,
+                                   Validator validator,
+                                   PlatformTransactionManager transactionManager,
+                                   ApplicationEventPublisher eventPublisher) {
+        this.repository = repository;
+        this.passwordHasher = passwordHasher;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+    }
+
+    public BulkRegistrationResultDTO registerCsv(Reader csv) throws IOException {
+        UserCsvParser.Result parsed = UserCsvParser.parse(csv, maxRows);
+        return register(parsed.rows(), parsed.errors());
+    }
+
+    public BulkRegistrationResultDTO register(List<CreateUserDTO> rows) {
+        if (rows.size() > maxRows) {
+            throw new InvalidBulkRequestException("A bulk request can contain at most " + maxRows + " users");
+        }
+        return register(rows, Map.of());
+    }
+
+    private BulkRegistrationResultDTO register(List<CreateUserDTO> rows, Map<Integer, String> parseErrors) {
+        if (rows.isEmpty()) {
+            throw new InvalidBulkRequestException("A bulk request must contain at least one user");
+        }
+        RowResult[] results = new RowResult[rows.size()];
+
+        // 1. per-row validation and duplicates inside the request itself
+        List<Integer> candidates = new ArrayList<>();
+        Set<String> seenEmails = new HashSet<>();
+        for (int i = 0; i < rows.size(); i++) {
+            CreateUserDTO row = rows.get(i);
+            String error = parseErrors.containsKey(i + 1) ? parseErrors.get(i + 1) : validate(row);
+            if (error != null) {
+                results[i] = result(i, row, BulkRowStatus.INVALID, null, error);
+            } else if (!seenEmails.add(row.getEmail())) {
+                results[i] = result(i, row, BulkRowStatus.DUPLICATE, null, "Email appears more than once in this request.");
+            } else {
+                candidates.add(i);
+            }
+        }
+
+        // 2. one set-based lookup per chunk instead of existsByEmail per row
+        Set<String> existing = findExistingEmails(candidates.stream().map(i -> rows.get(i).getEmail()).toList());
+        List<Integer> accepted = new ArrayList<>(candidates.size());
+        for (Integer i : candidates) {
+            if (existing.contains(rows.get(i).getEmail())) {
+                results[i] = result(i, rows.get(i), BulkRowStatus.DUPLICATE, null, "A user with this email already exists.");
+            } else {
+                accepted.add(i);
+            }
+        }
+
+        // 3. parallel hashing, 4. batched inserts
+        List<String> hashes = passwordHasher.hashAll(accepted.stream().map(i -> rows.get(i).getPassword()).toList());
+        for (int from = 0; from < accepted.size(); from += insertChunkSize) {
+            int to = Math.min(from + insertChunkSize, accepted.size());
+            List<Integer> chunk = accepted.subList(from, to);
+            List<User> users = new ArrayList<>(chunk.size());
+            for (int k = from; k < to; k++) {
+                users.add(toUser(rows.get(accepted.get(k)), hashes.get(k)));
+            }
+            insertChunk(chunk, users, rows, results);
+        }
+
+        int created = 0;
+        for (RowResult result : results) {
+            if (result.getStatus() == BulkRowStatus.CREATED) {
+                created++;
+            }
+        }
+        if (created > 0) {
+            eventPublisher.publishEvent(RegistrationEventDTO.builder()
+                .type(RegistrationEventType.BULK_CREATED)
+                .status(Status.ACCEPTED)
+                .count(created)
+                .occurredAt(Instant.now())
+                .build());
+        }
+        return BulkRegistrationResultDTO.builder()
+            .total(rows.size())
+            .created(created)
+            .failed(rows.size() - created)
+            .rows(List.of(results))
+            .build();
+    }
+
+    private void insertChunk(List<Integer> indexes, List<User> users, List<CreateUserDTO> rows, RowResult[] results) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                repository.saveAllAndFlush(users);
+                entityManager.clear();
+            });
+            for (int k = 0; k < users.size(); k++) {
+                results[indexes.get(k)] = result(indexes.get(k), rows.get(indexes.get(k)), BulkRowStatus.CREATED, users.get(k).getId(), null);
+            }
+        } catch (DataIntegrityViolationException e) {
+            // someone registered one of these emails after our lookup; retry the chunk row by row
+            entityManager.clear();
+            for (int k = 0; k < users.size(); k++) {
+                User user = users.get(k);
+                user.setId(null);
+                int i = indexes.get(k);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> repository.saveAndFlush(user));
+                    results[i] = result(i, rows.get(i), BulkRowStatus.CREATED, user.getId(), null);
+                } catch (DataIntegrityViolationException rowFailure) {
+                    entityManager.clear();
+                    results[i] = result(i, rows.get(i), BulkRowStatus.DUPLICATE, null, "A user with this email already exists.");
+                }
+            }
+        } catch (RuntimeException e) {
+            entityManager.clear();
+            for (Integer i : indexes) {
+                results[i] = result(i, rows.get(i), BulkRowStatus.FAILED, null, e.getMessage());
+            }
+        }
+    }
+
+    private Set<String> findExistingEmails(List<String> emails) {
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < emails.size(); from += LOOKUP_CHUNK_SIZE) {
+            existing.addAll(repository.findExistingEmails(emails.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, emails.size()))));
+        }
+        return existing;
+    }
+
+    private String validate(CreateUserDTO row) {
+        Set<ConstraintViolation<CreateUserDTO>> violations = validator.validate(row);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+        }
+        if (!AuthService.isValidPassword(row.getPassword())) {
+            return "Password must be at least 8 characters long and include uppercase, lowercase, digit, and special character.";
+        }
+        return null;
+    }
+
+    private static User toUser(CreateUserDTO row, String passwordHash) {
+        return User.builder()
+            .username(row.getUsername())
+            .email(row.getEmail())
+            .password(passwordHash)
+            .role(row.getRole())
+            .status(Status.ACCEPTED)
+            .build();
+    }
+
+    private static RowResult result(int index, CreateUserDTO row, BulkRowStatus status, Long userId, String message) {
+        return RowResult.builder()
+            .row(index + 1)
+            .email(row.getEmail())
+            .status(status)
+            .userId(userId)
+            .message(message)
+            .build();
+    }
+}
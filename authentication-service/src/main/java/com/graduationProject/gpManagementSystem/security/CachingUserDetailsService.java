@@ -0,0 +1,52 @@
+package com.graduationProject.gpManagementSystem.security;
+
+import java.time.Duration;
+
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.graduationProject.gpManagementSystem.repository.UserRepository;
+
+// Keeps loaded users for a short TTL so the JWT filter does not hit Postgres on every request.
+// AuthService evicts an entry whenever the user's status or password changes.
+public class CachingUserDetailsService implements UserDetailsService {
+
+    private final UserRepository repository;
+    private final Cache<String, UserDetails> cache;
+
+    public CachingUserDetailsService(UserRepository repository, Duration ttl, long maxSize) {
+        this.repository = repository;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        UserDetails cached = cache.getIfPresent(username);
+        if (cached != null) {
+            return cached;
+        }
+        UserDetails user = repository.findByEmail(username)
+                .orElseThrow(() -> new UsernameNotFoundException("user not found"));
+        cache.put(username, user);
+        return user;
+    }
+
+    public void evict(String email) {
+        cache.invalidate(email);
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+
+    Cache<String, UserDetails> cache() {
+        return cache;
+    }
+}
@@ -0,0 +1,85 @@
+package com.graduationProject.gpManagementSystem.security;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+// Token buckets in a fixed number of lock stripes. Each stripe is an access-ordered
+// LinkedHashMap capped at maxEntries / stripes, so memory is fixed and the least recently
+// seen keys of a stripe are dropped first (LRU per stripe, approximate LRU overall).
+// A dropped key simply starts again with a full bucket.
+@Component
+@Order(0)
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private static final class Bucket {
+        double tokens;
+        long refilledAt;
+    }
+
+    private final Stripe[] stripes;
+
+    public InMemoryRateLimitStore(@Value("${security.login-rate-limit.stripes:64}") int stripeCount,
+                                  @Value("${security.login-rate-limit.max-entries:100000}") int maxEntries) {
+        int count = Integer.highestOneBit(Math.max(1, stripeCount));
+        int perStripe = Math.max(1, maxEntries / count);
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe(perStripe);
+        }
+    }
+
+    @Override
+    public long tryConsume(String key, Limit limit) {
+        int hash = key.hashCode();
+        Stripe stripe = stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+        long now = System.nanoTime();
+        synchronized (stripe) {
+            Bucket bucket = stripe.get(key);
+            if (bucket == null) {
+                bucket = new Bucket();
+                bucket.tokens = limit.capacity();
+                bucket.refilledAt = now;
+                stripe.put(key, bucket);
+            } else {
+                double refill = (now - bucket.refilledAt) / 1e9 * limit.refillPerSecond();
+                bucket.tokens = Math.min(limit.capacity(), bucket.tokens + refill);
+                bucket.refilledAt = now;
+            }
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - bucket.tokens) / limit.refillPerSecond() * TimeUnit.SECONDS.toMillis(1));
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    private static final class Stripe extends LinkedHashMap<String, Bucket> {
+
+        private final int maxEntries;
+
+        Stripe(int maxEntries) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+            return size() > maxEntries;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.graduationProject.gpManagementSystem.security;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Shared token buckets in Postgres (login_rate_limits) so all replicas draw from one budget.
+// Refill, take-a-token and the verdict happen in a single upsert, the row lock serialises
+// concurrent attempts on the same key. Enabled with security.login-rate-limit.store=jdbc.
+@Component
+@Order(1)
+@ConditionalOnProperty(name = "security.login-rate-limit.store", havingValue = "jdbc")
+public class JdbcRateLimitStore implements RateLimitStore {
+
+    private static final String CONSUME = """
+            insert into login_rate_limits as b (bucket_key, tokens, updated_at, last_allowed)
+            values (?, ? - 1, clock_timestamp(), true)
+            on conflict (bucket_key) do update set
+                tokens = case when least(?, b.tokens + extract(epoch from clock_timestamp() - b.updated_at) * ?) >= 1
+                              then least(?, b.tokens + extract(epoch from clock_timestamp() - b.updated_at) * ?) - 1
+                              else least(?, b.tokens + extract(epoch from clock_timestamp() - b.updated_at) * ?) end,
+                last_allowed = least(?, b.tokens + extract(epoch from clock_timestamp() - b.updated_at) * ?) >= 1,
+                updated_at = clock_timestamp()
+            returning last_allowed, tokens
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcRateLimitStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public long tryConsume(String key, Limit limit) {
+        int capacity = limit.capacity();
+        double rate = limit.refillPerSecond();
+        return jdbcTemplate.queryForObject(CONSUME, (rs, rowNum) -> {
+            if (rs.getBoolean(1)) {
+                return 0L;
+            }
+            return (long) Math.ceil((1 - rs.getDouble(2)) / rate * 1000);
+        }, key, capacity, capacity, rate, capacity, rate, capacity, rate, capacity, rate);
+    }
+
+    // rows of keys that have been idle long enough to be full again carry no information
+    @Scheduled(fixedDelayString = "${security.login-rate-limit.cleanup-interval:PT10M}")
+    public void deleteIdle() {
+        jdbcTemplate.update("delete from login_rate_limits where updated_at < clock_timestamp() - interval '1 hour'");
+    }
+}
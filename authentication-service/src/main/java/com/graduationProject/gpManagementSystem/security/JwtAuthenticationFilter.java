@@ -8,7 +8,9 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 // import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -17,14 +19,20 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
 
-    private final JwtUtils jwtService;
+    private final VerifiedTokenCache tokenCache;
     private final UserDetailsService userDetailsService;
+    private final RevocationList revocationList;
+
+    // When true the signed claims are trusted as-is and no user lookup is done per request
+    @Value("${security.jwt.trust-claims:false}")
+    private boolean trustClaims;
 
 
     //to solve error only
@@ -40,16 +48,31 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
          @SuppressWarnings("null")   FilterChain filterChain) throws ServletException, IOException {
          final String authHeader = request.getHeader("Authorization");
          final String jwt;
-         final String userEmail;
          if(authHeader == null || !authHeader.startsWith("Bearer ")){
              filterChain.doFilter(request,response);
              return;
          }
          jwt = authHeader.substring(7);
-         userEmail = jwtService.extractUserName(jwt);
-         if( userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null){
-             UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-             if(jwtService.isTokenValid(jwt , userDetails)){
+         // signature and expiry are checked once per token (shared with /introspect), the verified claims are reused below
+         final VerifiedToken token = tokenCache.get(jwt);
+         if( token != null && token.subject() != null
+                 && !revocationList.isRevoked(token.id(), token.issuedAt())
+                 && SecurityContextHolder.getContext().getAuthentication() == null){
+             if(trustClaims){
+                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                         token.subject(),
+                         null,
+                         token.role() != null ? List.of(new SimpleGrantedAuthority(token.role())) : List.of()
+                 );
+                 authToken.setDetails(
+                         new WebAuthenticationDetailsSource().buildDetails(request)
+                 );
+                 SecurityContextHolder.getContext().setAuthentication(authToken);
+                 filterChain.doFilter(request, response);
+                 return;
+             }
+             UserDetails userDetails = this.userDetailsService.loadUserByUsername(token.subject());
+             if(token.subject().equals(userDetails.getUsername())){
                  UsernamePasswordAuthenticationToken authToken =  new UsernamePasswordAuthenticationToken(
                           userDetails ,
                          null,
@@ -2,25 +2,99 @@ package com.graduationProject.gpManagementSystem.security;
 
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import com.graduationProject.gpManagementSystem.model.User;
 
 import java.security.Key;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 
 @Service
 public class JwtUtils {
 
-    private final static String SECRET_KEY = "680985b33fccdb28ed249302d4cf185a45c2c249fe0f54db51c05e6831bf3c60";
+    // exact issue time in epoch millis (iat has whole seconds); RevocationList compares it with the
+    // watermark so a token issued right after a revocation, in the same second, stays valid
+    private static final String ISSUED_AT_MILLIS = "iat_ms";
+
+    private final SigningKeyManager signingKeys;
+    private final Duration accessTokenTtl;
+    private final LegacyHs256Window legacyHs256;
+    // Parser is immutable and thread-safe; the key is picked per token from its kid header
+    private final JwtParser parser;
+
+    public JwtUtils(SigningKeyManager signingKeys,
+                    @Value("${jwt.access-token.ttl:15m}") Duration accessTokenTtl,
+                    LegacyHs256Window legacyHs256) {
+        this.signingKeys = signingKeys;
+        this.accessTokenTtl = accessTokenTtl;
+        this.legacyHs256 = legacyHs256;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return resolveKey(header, claims);
+                    }
+                })
+                .build();
+    }
+
+    private Key resolveKey(JwsHeader<?> header, Claims claims) {
+        if (SignatureAlgorithm.HS256.getValue().equals(header.getAlgorithm())) {
+            Key legacyKey = legacyHs256.keyFor(claims);
+            if (legacyKey == null) {
+                throw new UnsupportedJwtException("HS256 tokens are not accepted");
+            }
+            return legacyKey;
+        }
+        Key key = header.getKeyId() != null ? signingKeys.publicKey(header.getKeyId()) : null;
+        if (key == null) {
+            throw new UnsupportedJwtException("Unknown signing key id");
+        }
+        return key;
+    }
+
+    // Verifies signature and expiry exactly once; empty when the token is invalid or expired
+    public Optional<VerifiedToken> verify(String token) {
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            Date expiration = claims.getExpiration();
+            return Optional.of(new VerifiedToken(
+                    claims.getSubject(),
+                    claims.get("id", Long.class),
+                    claims.get("role", String.class),
+                    issuedAt(claims),
+                    expiration != null ? expiration.toInstant() : null
+            ));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    // iat_ms carries the exact issue time for the revocation check; tokens without it only have
+    // whole seconds in iat, so they count as issued at the end of that second
+    private static Instant issuedAt(Claims claims) {
+        Long millis = claims.get(ISSUED_AT_MILLIS, Long.class);
+        if (millis != null) {
+            return Instant.ofEpochMilli(millis);
+        }
+        Date issuedAt = claims.getIssuedAt();
+        return issuedAt != null ? issuedAt.toInstant().plusMillis(999) : null;
+    }
 
     public String extractUserName(String token) {
         try {
@@ -30,11 +104,6 @@ public class JwtUtils {
         }
     }
 
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(SECRET_KEY);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
         try {
             final Claims claims = extractAllClaims(token);
@@ -53,49 +122,39 @@ public class JwtUtils {
         claims.put("id", userDetails.getId());
         claims.put("role", userDetails.getRole());
         
+        SigningKeyManager.ActiveKey signingKey = signingKeys.current();
+        long now = System.currentTimeMillis();
+        claims.put(ISSUED_AT_MILLIS, now);
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, signingKey.kid())
                 .setClaims(claims)
                 .setSubject(userDetails.getUsername())
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 24 * 7))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + accessTokenTtl.toMillis()))
+                .signWith(signingKey.privateKey(), SignatureAlgorithm.ES256)
                 .compact();
     }
 
+    public Duration getAccessTokenTtl() {
+        return accessTokenTtl;
+    }
+
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        try {
-            final String userName = extractUserName(token);
-            boolean isValid = (userName.equals(userDetails.getUsername())) && !isTokenExpired(token);
-            if (!isValid) {
-                System.out.println("Token validation failed for user: " + userName);
-            }
-            return isValid;
-        } catch (Exception e) {
-            System.out.println("Token validation error: " + e.getMessage());
+        Optional<VerifiedToken> verified = verify(token);
+        if (verified.isEmpty()) {
+            System.out.println("Token validation failed");
             return false;
         }
-    }
-
-    private boolean isTokenExpired(String token) {
-        try {
-            return extractExpiration(token).before(new Date());
-        } catch (Exception e) {
-            System.out.println("Token expiration check error: " + e.getMessage());
-            return true;
+        boolean isValid = verified.get().subject().equals(userDetails.getUsername());
+        if (!isValid) {
+            System.out.println("Token validation failed for user: " + verified.get().subject());
         }
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        return isValid;
     }
 
     private Claims extractAllClaims(String token) {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(getSignInKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            return parser.parseClaimsJws(token).getBody();
         } catch (Exception e) {
             throw new RuntimeException("Error parsing token: " + e.getMessage());
         }
@@ -103,13 +162,9 @@ public class JwtUtils {
 
     // Helper method to check if user is a student
     public boolean isStudent(String token) {
-        try {
-            Claims claims = extractAllClaims(token);
-            String role = claims.get("role", String.class);
-            return "STUDENT".equals(role);
-        } catch (Exception e) {
-            return false;
-        }
+        return verify(token)
+                .map(verified -> "STUDENT".equals(verified.role()))
+                .orElse(false);
     }
 }
 
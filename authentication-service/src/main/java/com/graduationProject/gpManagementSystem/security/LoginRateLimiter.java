@@ -0,0 +1,70 @@
+package com.graduationProject.gpManagementSystem.security;
+
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.graduationProject.gpManagementSystem.exception.LoginRateLimitedException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Throttles login attempts per email and per client IP before AuthService touches the
+// database or BCrypt. Stores are asked in order and the first rejection wins, so the local
+// in-memory buckets shed a burst without a round trip to the shared store.
+@Component
+public class LoginRateLimiter {
+
+    private final List<RateLimitStore> stores;
+    private final RateLimitStore.Limit emailLimit;
+    private final RateLimitStore.Limit ipLimit;
+    private final Counter emailRejections;
+    private final Counter ipRejections;
+
+    public LoginRateLimiter(List<RateLimitStore> stores,
+                            MeterRegistry meterRegistry,
+                            @Value("${security.login-rate-limit.email.capacity:5}") int emailCapacity,
+                            @Value("${security.login-rate-limit.email.refill-per-minute:5}") double emailRefillPerMinute,
+                            @Value("${security.login-rate-limit.ip.capacity:30}") int ipCapacity,
+                            @Value("${security.login-rate-limit.ip.refill-per-minute:60}") double ipRefillPerMinute) {
+        this.stores = stores;
+        this.emailLimit = new RateLimitStore.Limit(emailCapacity, emailRefillPerMinute / 60);
+        this.ipLimit = new RateLimitStore.Limit(ipCapacity, ipRefillPerMinute / 60);
+        this.emailRejections = Counter.builder("auth.login.rate_limited").tag("key", "email").register(meterRegistry);
+        this.ipRejections = Counter.builder("auth.login.rate_limited").tag("key", "ip").register(meterRegistry);
+    }
+
+    public void check(String email, String clientIp) {
+        if (clientIp != null) {
+            long waitMillis = tryConsume("ip:" + clientIp, ipLimit);
+            if (waitMillis > 0) {
+                ipRejections.increment();
+                throw rejected(waitMillis);
+            }
+        }
+        if (email != null) {
+            long waitMillis = tryConsume("email:" + email.trim().toLowerCase(Locale.ROOT), emailLimit);
+            if (waitMillis > 0) {
+                emailRejections.increment();
+                throw rejected(waitMillis);
+            }
+        }
+    }
+
+    private long tryConsume(String key, RateLimitStore.Limit limit) {
+        for (RateLimitStore store : stores) {
+            long waitMillis = store.tryConsume(key, limit);
+            if (waitMillis > 0) {
+                return waitMillis;
+            }
+        }
+        return 0;
+    }
+
+    private static LoginRateLimitedException rejected(long waitMillis) {
+        return new LoginRateLimitedException("Too many login attempts, please retry later.",
+                Math.max(1, (waitMillis + 999) / 1000));
+    }
+}
@@ -0,0 +1,13 @@
+package com.graduationProject.gpManagementSystem.security;
+
+// Token-bucket storage used by LoginRateLimiter. Implementations are consulted in @Order;
+// the in-memory one always runs first, shared ones (JdbcRateLimitStore) let several
+// replicas enforce one budget.
+public interface RateLimitStore {
+
+    record Limit(int capacity, double refillPerSecond) {
+    }
+
+    // Takes one token from the bucket; returns 0 when allowed, otherwise the millis until a token is available
+    long tryConsume(String key, Limit limit);
+}
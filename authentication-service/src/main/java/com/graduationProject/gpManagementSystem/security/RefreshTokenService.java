@@ -0,0 +1,121 @@
+package com.graduationProject.gpManagementSystem.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.graduationProject.gpManagementSystem.enums.Status;
+import com.graduationProject.gpManagementSystem.exception.InvalidRefreshTokenException;
+import com.graduationProject.gpManagementSystem.model.RefreshToken;
+import com.graduationProject.gpManagementSystem.model.User;
+import com.graduationProject.gpManagementSystem.repository.RefreshTokenRepository;
+import com.graduationProject.gpManagementSystem.repository.UserRepository;
+
+// Issues and rotates opaque refresh tokens. Every refresh consumes the presented token and
+// hands back a new one from the same family; presenting an already used token means it was
+// copied, so the whole family is revoked and the user has to log in again.
+@Service
+public class RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository repository;
+    private final UserRepository userRepository;
+    private final Duration refreshTokenTtl;
+
+    public RefreshTokenService(RefreshTokenRepository repository,
+                               UserRepository userRepository,
+                               @Value("${jwt.refresh-token.ttl:14d}") Duration refreshTokenTtl) {
+        this.repository = repository;
+        this.userRepository = userRepository;
+        this.refreshTokenTtl = refreshTokenTtl;
+    }
+
+    public record Rotation(User user, String refreshToken) {
+    }
+
+    @Transactional
+    public String issue(User user) {
+        return issue(user.getId(), UUID.randomUUID().toString(), Instant.now());
+    }
+
+    // noRollbackFor so that the family revocation on reuse is committed before the 401
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public Rotation rotate(String rawToken) {
+        Instant now = Instant.now();
+        RefreshToken token = repository.findByTokenHash(hash(rawToken))
+            .orElseThrow(() -> new InvalidRefreshTokenException("Invalid refresh token"));
+
+        if (token.getRevokedAt() != null) {
+            throw new InvalidRefreshTokenException("Refresh token has been revoked");
+        }
+        if (!token.getExpiresAt().isAfter(now)) {
+            throw new InvalidRefreshTokenException("Refresh token has expired");
+        }
+        if (repository.markUsed(token.getId(), now) == 0) {
+            // already exchanged once: treat as stolen and kill every token in the chain
+            repository.revokeFamily(token.getFamilyId(), now);
+            throw new InvalidRefreshTokenException("Refresh token reuse detected, please log in again");
+        }
+
+        User user = userRepository.findById(token.getUserId())
+            .orElseThrow(() -> new InvalidRefreshTokenException("Invalid refresh token"));
+        if (user.getStatus() != Status.ACCEPTED) {
+            repository.revokeFamily(token.getFamilyId(), now);
+            throw new InvalidRefreshTokenException("Account is not active");
+        }
+        return new Rotation(user, issue(user.getId(), token.getFamilyId(), now));
+    }
+
+    @Transactional
+    public void revokeAll(Long userId) {
+        repository.revokeAllForUser(userId, Instant.now());
+    }
+
+    @Transactional
+    public void revokeAll(Collection<Long> userIds) {
+        repository.revokeAllForUsers(userIds, Instant.now());
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${jwt.refresh-token.cleanup-interval:PT1H}")
+    public void deleteExpired() {
+        repository.deleteExpired(Instant.now());
+    }
+
+    private String issue(Long userId, String familyId, Instant now) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        repository.save(RefreshToken.builder()
+            .tokenHash(hash(rawToken))
+            .userId(userId)
+            .familyId(familyId)
+            .createdAt(now)
+            .expiresAt(now.plus(refreshTokenTtl))
+            .build());
+        return rawToken;
+    }
+
+    // tokens carry 256 bits of entropy, so an unsalted SHA-256 is enough to make the table useless if leaked
+    static String hash(String rawToken) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(rawToken.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
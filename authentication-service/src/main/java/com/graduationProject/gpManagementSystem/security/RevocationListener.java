@@ -0,0 +1,149 @@
+package com.graduationProject.gpManagementSystem.security;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+// Keeps RevocationList in sync with token_revocations across replicas (hr-service and
+// finance-service run the same listener). A dedicated connection (outside the Hikari pool)
+// LISTENs on the channel TokenRevocationService NOTIFYs after each revocation; the table is re-read after every (re)connect and
+// periodically, so a missed notification is bounded by the resync interval. Requests never
+// touch the database for revocation checks.
+@Slf4j
+@Component
+public class RevocationListener {
+
+    static final String CHANNEL = "token_revocations";
+    // payload sent after bulk revocations: re-read the table instead of applying one user
+    static final String RESYNC = "*";
+    private static final int POLL_MILLIS = 5_000;
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    private final RevocationList revocationList;
+    private final DataSourceProperties dataSourceProperties;
+    private final Duration retention;
+    private final Duration resyncInterval;
+    private volatile boolean running;
+    private Thread thread;
+
+    public RevocationListener(RevocationList revocationList,
+                              DataSourceProperties dataSourceProperties,
+                              MeterRegistry meterRegistry,
+                              @Value("${security.revocation.retention:7d}") Duration retention,
+                              @Value("${security.revocation.resync-interval:10m}") Duration resyncInterval) {
+        this.revocationList = revocationList;
+        this.dataSourceProperties = dataSourceProperties;
+        this.retention = retention;
+        this.resyncInterval = resyncInterval;
+        Gauge.builder("auth.revocation.users", revocationList, RevocationList::size).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        thread = new Thread(this::listen, "token-revocation-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void listen() {
+        long backoff = 1_000;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(
+                    dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(),
+                    dataSourceProperties.determinePassword())) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                reload(connection);
+                long lastReload = System.currentTimeMillis();
+                backoff = 1_000;
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_MILLIS);
+                    boolean resync = false;
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            if (RESYNC.equals(notification.getParameter())) {
+                                resync = true;
+                            } else {
+                                apply(notification.getParameter());
+                            }
+                        }
+                    }
+                    if (resync || System.currentTimeMillis() - lastReload >= resyncInterval.toMillis()) {
+                        reload(connection);
+                        lastReload = System.currentTimeMillis();
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Token revocation listener disconnected, retrying in {} ms: {}", backoff, e.getMessage());
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    private void reload(Connection connection) throws SQLException {
+        Map<Long, Long> watermarks = new HashMap<>();
+        try (PreparedStatement statement = connection.prepareStatement(
+                "select user_id, cast(extract(epoch from revoked_before) * 1000 as bigint) from token_revocations "
+                        + "where revoked_before > now() - (? * interval '1 second')")) {
+            statement.setLong(1, retention.toSeconds());
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    watermarks.put(rs.getLong(1), rs.getLong(2));
+                }
+            }
+        }
+        revocationList.replaceAll(watermarks);
+    }
+
+    // payload is "<userId>:<revokedBeforeEpochMillis>"
+    private void apply(String payload) {
+        int separator = payload != null ? payload.indexOf(':') : -1;
+        if (separator < 0) {
+            log.warn("Ignoring malformed revocation notification: {}", payload);
+            return;
+        }
+        try {
+            revocationList.revoke(Long.parseLong(payload.substring(0, separator)),
+                    Long.parseLong(payload.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed revocation notification: {}", payload);
+        }
+    }
+}
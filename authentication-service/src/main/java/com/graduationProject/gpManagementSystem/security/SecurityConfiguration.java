@@ -7,6 +7,7 @@ package com.graduationProject.gpManagementSystem.security;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationProvider;
 // import org.springframework.security.config.annotation.method.configuration.EnableGlobalMethodSecurity;
 // import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -44,8 +45,18 @@ public class SecurityConfiguration  {
             .csrf(csrf -> csrf.disable())
             .authorizeHttpRequests(authorizeRequest ->
                 authorizeRequest
+                    .requestMatchers("api/v1/admin/**").hasAuthority("ADMIN")
                     .requestMatchers("api/v1/auth/**").permitAll()
                     .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html").permitAll()
+                    .requestMatchers("/actuator/health/**").permitAll()
+                    // scraped over the internal network; nginx does not expose it
+                    .requestMatchers("/actuator/prometheus").permitAll()
+                    .requestMatchers("/actuator/dbpool/**", "/actuator/dbpool").hasAuthority("ADMIN")
+                    .requestMatchers("/.well-known/jwks.json").permitAll()
+                    // STOMP handshake; the JWT is checked on the CONNECT frame (JwtStompChannelInterceptor)
+                    .requestMatchers("/ws/**").permitAll()
+                    // content-addressed, so the URL itself is the capability
+                    .requestMatchers(HttpMethod.GET, "/api/v1/photos/**").permitAll()
                     .anyRequest()
                     .authenticated()
             )
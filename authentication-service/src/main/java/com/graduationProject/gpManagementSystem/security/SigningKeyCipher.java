@@ -0,0 +1,79 @@
+package com.graduationProject.gpManagementSystem.security;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// AES-256-GCM wrapping of the private keys in jwt_signing_keys. Every service reaches the same
+// database, so the key-encryption key is only ever given to auth-service (JWT_SIGNING_KEK).
+// Stored form: "v1:" + base64(iv || ciphertext || tag), with the kid as associated data so a
+// ciphertext cannot be moved to another row.
+@Component
+public class SigningKeyCipher {
+
+    private static final String PREFIX = "v1:";
+    private static final int IV_BYTES = 12;
+    private static final int TAG_BITS = 128;
+
+    private final SecretKey kek;
+    private final SecureRandom random = new SecureRandom();
+
+    public SigningKeyCipher(@Value("${jwt.signing.key-encryption-key:}") String kek) {
+        if (kek.isBlank()) {
+            throw new IllegalStateException(
+                    "jwt.signing.key-encryption-key (JWT_SIGNING_KEK) is not set; generate one with: openssl rand -base64 32");
+        }
+        byte[] bytes = Base64.getDecoder().decode(kek.trim());
+        if (bytes.length != 32) {
+            throw new IllegalStateException("jwt.signing.key-encryption-key must be 32 bytes, base64 encoded");
+        }
+        this.kek = new SecretKeySpec(bytes, "AES");
+    }
+
+    public String encrypt(String kid, byte[] privateKey) {
+        byte[] iv = new byte[IV_BYTES];
+        random.nextBytes(iv);
+        try {
+            Cipher cipher = cipher(Cipher.ENCRYPT_MODE, kid, iv);
+            byte[] sealed = cipher.doFinal(privateKey);
+            return PREFIX + Base64.getEncoder().encodeToString(
+                    ByteBuffer.allocate(iv.length + sealed.length).put(iv).put(sealed).array());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to encrypt signing key " + kid, e);
+        }
+    }
+
+    public byte[] decrypt(String kid, String stored) {
+        byte[] bytes = Base64.getDecoder().decode(stored.substring(PREFIX.length()));
+        try {
+            Cipher cipher = cipher(Cipher.DECRYPT_MODE, kid, Arrays.copyOf(bytes, IV_BYTES));
+            return cipher.doFinal(bytes, IV_BYTES, bytes.length - IV_BYTES);
+        } catch (GeneralSecurityException e) {
+            // wrong key-encryption key, or the row was tampered with
+            throw new IllegalStateException("Unable to decrypt signing key " + kid, e);
+        }
+    }
+
+    // rows written before the keys were encrypted hold the bare base64 PKCS#8
+    public static boolean isEncrypted(String stored) {
+        return stored.startsWith(PREFIX);
+    }
+
+    private Cipher cipher(int mode, String kid, byte[] iv) throws GeneralSecurityException {
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(mode, kek, new GCMParameterSpec(TAG_BITS, iv));
+        cipher.updateAAD(kid.getBytes(StandardCharsets.UTF_8));
+        return cipher;
+    }
+}
@@ -0,0 +1,222 @@
+package com.graduationProject.gpManagementSystem.security;
+
+import java.math.BigInteger;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.graduationProject.gpManagementSystem.model.JwtSigningKey;
+import com.graduationProject.gpManagementSystem.repository.JwtSigningKeyRepository;
+
+import jakarta.annotation.PostConstruct;
+
+// Owns the rotating ES256 signing keys. Every unexpired key verifies and is published on
+// /.well-known/jwks.json; a new key only starts signing once it has been published for the
+// activation delay, so other replicas and the JWKS caches in hr/finance already know it. Keys live in Postgres so all replicas share them; the
+// private halves are stored encrypted (SigningKeyCipher).
+@Component
+public class SigningKeyManager {
+
+    static final String ALGORITHM = "ES256";
+
+    // transaction-scoped advisory lock: one replica rotates, the others wait and then see its key
+    private static final String ROTATION_LOCK = "select pg_advisory_xact_lock(hashtext('jwt_signing_keys'))";
+    private static final long MISS_RELOAD_GAP_MILLIS = 5_000;
+
+    private final JwtSigningKeyRepository repository;
+    private final SigningKeyCipher cipher;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${jwt.signing.rotation-interval:1d}")
+    private Duration rotationInterval;
+
+    // must be at least the lifetime of the tokens signed with a key
+    @Value("${jwt.signing.key-retention:7d}")
+    private Duration keyRetention;
+
+    private final Duration activationDelay;
+    private final AtomicLong lastMissReload = new AtomicLong();
+
+    // newest first
+    private volatile List<ActiveKey> keys = List.of();
+
+    public SigningKeyManager(JwtSigningKeyRepository repository,
+                             SigningKeyCipher cipher,
+                             JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${jwt.signing.activation-delay:PT10M}") Duration activationDelay) {
+        this.repository = repository;
+        this.cipher = cipher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.activationDelay = activationDelay;
+    }
+
+    public record ActiveKey(String kid, PrivateKey privateKey, PublicKey publicKey, Instant createdAt) {
+    }
+
+    @PostConstruct
+    public void init() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.signing.refresh-interval:PT1M}", initialDelayString = "${jwt.signing.refresh-interval:PT1M}")
+    public void refresh() {
+        Instant now = Instant.now();
+        reload(now);
+        List<ActiveKey> current = keys;
+        if (current.isEmpty() || rotationDue(current.get(0).createdAt(), now)) {
+            transactionTemplate.executeWithoutResult(status -> rotateIfDue(now));
+            reload(now);
+        }
+        repository.deleteByExpiresAtBefore(now);
+    }
+
+    // the newest key that has been published for the activation delay
+    public ActiveKey current() {
+        List<ActiveKey> current = keys;
+        if (current.isEmpty()) {
+            throw new IllegalStateException("No JWT signing key available");
+        }
+        Instant activeBefore = Instant.now().minus(activationDelay);
+        for (ActiveKey key : current) {
+            if (!key.createdAt().isAfter(activeBefore)) {
+                return key;
+            }
+        }
+        // first start: the only keys are still being published, and there is nothing older
+        return current.get(current.size() - 1);
+    }
+
+    // A kid we do not know yet may come from a key another replica has just created: reload from
+    // the database, at most once per MISS_RELOAD_GAP_MILLIS so made-up kids cannot load it
+    public PublicKey publicKey(String kid) {
+        PublicKey key = find(kid);
+        long last = lastMissReload.get();
+        long now = System.currentTimeMillis();
+        if (key == null && now - last >= MISS_RELOAD_GAP_MILLIS && lastMissReload.compareAndSet(last, now)) {
+            reload(Instant.now());
+            key = find(kid);
+        }
+        return key;
+    }
+
+    private PublicKey find(String kid) {
+        for (ActiveKey key : keys) {
+            if (key.kid().equals(kid)) {
+                return key.publicKey();
+            }
+        }
+        return null;
+    }
+
+    public Map<String, Object> jwks() {
+        List<Map<String, Object>> jwkList = new ArrayList<>();
+        for (ActiveKey key : keys) {
+            ECPublicKey publicKey = (ECPublicKey) key.publicKey();
+            Map<String, Object> jwk = new LinkedHashMap<>();
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-256");
+            jwk.put("kid", key.kid());
+            jwk.put("use", "sig");
+            jwk.put("alg", ALGORITHM);
+            jwk.put("x", coordinate(publicKey.getW().getAffineX()));
+            jwk.put("y", coordinate(publicKey.getW().getAffineY()));
+            jwkList.add(jwk);
+        }
+        return Map.of("keys", jwkList);
+    }
+
+    void setKeys(List<ActiveKey> keys) {
+        this.keys = List.copyOf(keys);
+    }
+
+    private boolean rotationDue(Instant newestCreatedAt, Instant now) {
+        return newestCreatedAt.plus(rotationInterval).isBefore(now);
+    }
+
+    // re-checked under the lock, so replicas that were waiting on it do not rotate again
+    private void rotateIfDue(Instant now) {
+        jdbcTemplate.execute(ROTATION_LOCK);
+        JwtSigningKey newest = repository.findFirstByExpiresAtAfterOrderByCreatedAtDesc(now).orElse(null);
+        if (newest != null && !rotationDue(newest.getCreatedAt(), now)) {
+            return;
+        }
+        KeyPair keyPair = generateKeyPair();
+        String kid = UUID.randomUUID().toString();
+        repository.save(JwtSigningKey.builder()
+                .kid(kid)
+                .algorithm(ALGORITHM)
+                .privateKey(cipher.encrypt(kid, keyPair.getPrivate().getEncoded()))
+                .publicKey(Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()))
+                .createdAt(now)
+                .expiresAt(now.plus(activationDelay).plus(rotationInterval).plus(keyRetention))
+                .build());
+    }
+
+    private void reload(Instant now) {
+        List<ActiveKey> loaded = new ArrayList<>();
+        for (JwtSigningKey key : repository.findByExpiresAtAfterOrderByCreatedAtDesc(now)) {
+            if (!SigningKeyCipher.isEncrypted(key.getPrivateKey())) {
+                // written before the keys were encrypted: seal it in place
+                key.setPrivateKey(cipher.encrypt(key.getKid(), Base64.getDecoder().decode(key.getPrivateKey())));
+                repository.save(key);
+            }
+            loaded.add(toActiveKey(key));
+        }
+        keys = List.copyOf(loaded);
+    }
+
+    static KeyPair generateKeyPair() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+            return generator.generateKeyPair();
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to generate ES256 key pair", e);
+        }
+    }
+
+    private ActiveKey toActiveKey(JwtSigningKey key) {
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance("EC");
+            PrivateKey privateKey = keyFactory.generatePrivate(new PKCS8EncodedKeySpec(cipher.decrypt(key.getKid(), key.getPrivateKey())));
+            PublicKey publicKey = keyFactory.generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(key.getPublicKey())));
+            return new ActiveKey(key.getKid(), privateKey, publicKey, key.getCreatedAt());
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to load signing key " + key.getKid(), e);
+        }
+    }
+
+    // JWK coordinates are the unsigned 32-byte big-endian value, base64url without padding
+    private static String coordinate(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        byte[] fixed = new byte[32];
+        int length = Math.min(bytes.length, 32);
+        System.arraycopy(bytes, bytes.length - length, fixed, 32 - length, length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+    }
+}
@@ -0,0 +1,33 @@
+package com.graduationProject.gpManagementSystem.security;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsChecker;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+// DaoAuthenticationProvider that reports the user lookup, the password check and the status
+// check as separate login phases; retrieveUser is final, so the lookup is timed around the
+// UserDetailsService
+class TimedDaoAuthenticationProvider extends DaoAuthenticationProvider {
+
+    private final AuthPhaseTimers timers;
+
+    TimedDaoAuthenticationProvider(AuthPhaseTimers timers) {
+        this.timers = timers;
+    }
+
+    void setTimedUserDetailsService(UserDetailsService userDetailsService) {
+        setUserDetailsService(username -> timers.login("user_lookup", () -> userDetailsService.loadUserByUsername(username)));
+    }
+
+    void setTimedPostAuthenticationChecks(UserDetailsChecker checks) {
+        setPostAuthenticationChecks(user -> timers.login("status_check", () -> checks.check(user)));
+    }
+
+    @Override
+    protected void additionalAuthenticationChecks(UserDetails userDetails,
+                                                  UsernamePasswordAuthenticationToken authentication) {
+        timers.login("password_verify", () -> super.additionalAuthenticationChecks(userDetails, authentication));
+    }
+}
@@ -0,0 +1,80 @@
+package com.graduationProject.gpManagementSystem.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+
+import com.graduationProject.gpManagementSystem.dto.IntrospectResponseDTO;
+import com.graduationProject.gpManagementSystem.dto.IntrospectResponseDTO.TokenInfo;
+import com.graduationProject.gpManagementSystem.exception.InvalidBulkRequestException;
+
+// Validates a batch of access tokens for internal callers (batch jobs, the Python AI services)
+// in one request. Verification goes through the same VerifiedTokenCache as the JWT filter, so
+// a token seen before costs a hash lookup plus the in-memory revocation check.
+@Service
+public class TokenIntrospectionService {
+
+    private static final TokenInfo INACTIVE = TokenInfo.builder().active(false).build();
+
+    private final VerifiedTokenCache tokenCache;
+    private final RevocationList revocationList;
+    private final byte[] apiKey;
+    private final int maxTokens;
+
+    public TokenIntrospectionService(VerifiedTokenCache tokenCache,
+                                     RevocationList revocationList,
+                                     @Value("${security.introspection.api-key:}") String apiKey,
+                                     @Value("${security.introspection.max-tokens:500}") int maxTokens) {
+        this.tokenCache = tokenCache;
+        this.revocationList = revocationList;
+        this.apiKey = apiKey.getBytes(StandardCharsets.UTF_8);
+        this.maxTokens = maxTokens;
+    }
+
+    public IntrospectResponseDTO introspect(String callerKey, List<String> tokens) {
+        checkApiKey(callerKey);
+        if (tokens.size() > maxTokens) {
+            throw new InvalidBulkRequestException("At most " + maxTokens + " tokens can be introspected at once");
+        }
+        Instant now = Instant.now();
+        // a batch often repeats the same token (one per row of a job), verify each distinct one once
+        Map<String, TokenInfo> seen = new HashMap<>();
+        List<TokenInfo> results = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            results.add(token == null || token.isBlank() ? INACTIVE : seen.computeIfAbsent(token, t -> check(t, now)));
+        }
+        return IntrospectResponseDTO.builder().results(results).build();
+    }
+
+    private TokenInfo check(String token, Instant now) {
+        VerifiedToken verified = tokenCache.get(token);
+        if (verified == null || verified.subject() == null || verified.isExpired(now)
+                || revocationList.isRevoked(verified.id(), verified.issuedAt())) {
+            return INACTIVE;
+        }
+        return TokenInfo.builder()
+            .active(true)
+            .subject(verified.subject())
+            .userId(verified.id())
+            .role(verified.role())
+            .issuedAt(verified.issuedAt())
+            .expiresAt(verified.expiresAt())
+            .build();
+    }
+
+    // No key configured means the endpoint is disabled
+    private void checkApiKey(String callerKey) {
+        if (apiKey.length == 0 || callerKey == null
+                || !MessageDigest.isEqual(apiKey, callerKey.getBytes(StandardCharsets.UTF_8))) {
+            throw new AccessDeniedException("Invalid internal API key");
+        }
+    }
+}
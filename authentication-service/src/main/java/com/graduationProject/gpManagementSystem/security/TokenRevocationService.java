@@ -0,0 +1,73 @@
+package com.graduationProject.gpManagementSystem.security;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.graduationProject.gpManagementSystem.repository.TokenRevocationRepository;
+
+// Revokes every access token a user currently holds by moving their watermark to now.
+// The row and the NOTIFY commit together; each service's RevocationListener picks it up.
+// This node's own RevocationList is only updated once the caller's transaction has committed.
+@Service
+public class TokenRevocationService {
+
+    private final TokenRevocationRepository repository;
+    private final RevocationList revocationList;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration retention;
+
+    record Revoked(Collection<Long> userIds, long revokedBeforeEpochMilli) {
+    }
+
+    public TokenRevocationService(TokenRevocationRepository repository,
+                                  RevocationList revocationList,
+                                  ApplicationEventPublisher eventPublisher,
+                                  @Value("${security.revocation.retention:7d}") Duration retention) {
+        this.repository = repository;
+        this.revocationList = revocationList;
+        this.eventPublisher = eventPublisher;
+        this.retention = retention;
+    }
+
+    @Transactional
+    public void revokeUser(Long userId) {
+        // millisecond watermark, compared with the iat_ms claim (see JwtUtils)
+        Instant revokedBefore = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        repository.upsert(userId, revokedBefore);
+        repository.notify(RevocationListener.CHANNEL, userId + ":" + revokedBefore.toEpochMilli());
+        eventPublisher.publishEvent(new Revoked(List.of(userId), revokedBefore.toEpochMilli()));
+    }
+
+    // Bulk variant: one upsert for all users and a single "resync" notification instead of one per user
+    @Transactional
+    public void revokeUsers(Collection<Long> userIds) {
+        Instant revokedBefore = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        repository.upsertAll(userIds, revokedBefore);
+        repository.notify(RevocationListener.CHANNEL, RevocationListener.RESYNC);
+        eventPublisher.publishEvent(new Revoked(List.copyOf(userIds), revokedBefore.toEpochMilli()));
+    }
+
+    // after commit, so a rolled-back status change does not leave this node rejecting tokens
+    // that the database and the other nodes still accept
+    @TransactionalEventListener
+    public void apply(Revoked revoked) {
+        revocationList.revokeAll(revoked.userIds(), revoked.revokedBeforeEpochMilli());
+    }
+
+    // once the longest-lived token issued before a watermark has expired the row is useless
+    @Transactional
+    @Scheduled(fixedDelayString = "${security.revocation.cleanup-interval:PT1H}")
+    public void deleteExpired() {
+        repository.deleteOlderThan(Instant.now().minus(retention));
+    }
+}
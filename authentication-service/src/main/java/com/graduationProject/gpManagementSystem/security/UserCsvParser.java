@@ -0,0 +1,119 @@
+package com.graduationProject.gpManagementSystem.security;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.graduationProject.gpManagementSystem.dto.CreateUserDTO;
+import com.graduationProject.gpManagementSystem.enums.Role;
+import com.graduationProject.gpManagementSystem.exception.InvalidBulkRequestException;
+
+// Reads "username,email,password,role" CSV (header required, any column order, RFC 4180
+// quoting). A bad value only fails its own row, reported through Result.errors.
+final class UserCsvParser {
+
+    private static final List<String> COLUMNS = List.of("username", "email", "password", "role");
+
+    record Result(List<CreateUserDTO> rows, Map<Integer, String> errors) {
+    }
+
+    private UserCsvParser() {
+    }
+
+    static Result parse(Reader reader, int maxRows) throws IOException {
+        BufferedReader in = new BufferedReader(reader);
+        String headerLine = in.readLine();
+        if (headerLine == null) {
+            throw new InvalidBulkRequestException("CSV body is empty");
+        }
+        List<String> header = split(stripBom(headerLine));
+        int[] index = new int[COLUMNS.size()];
+        for (int c = 0; c < COLUMNS.size(); c++) {
+            index[c] = indexOfIgnoreCase(header, COLUMNS.get(c));
+            if (index[c] < 0) {
+                throw new InvalidBulkRequestException("CSV header must contain the columns " + COLUMNS);
+            }
+        }
+
+        List<CreateUserDTO> rows = new ArrayList<>();
+        Map<Integer, String> errors = new HashMap<>();
+        String line;
+        while ((line = in.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            if (rows.size() == maxRows) {
+                throw new InvalidBulkRequestException("A bulk request can contain at most " + maxRows + " users");
+            }
+            List<String> fields = split(line);
+            CreateUserDTO dto = new CreateUserDTO();
+            dto.setUsername(field(fields, index[0]));
+            dto.setEmail(field(fields, index[1]));
+            dto.setPassword(field(fields, index[2]));
+            String role = field(fields, index[3]);
+            if (role != null) {
+                try {
+                    dto.setRole(Role.valueOf(role.trim().toUpperCase(Locale.ROOT)));
+                } catch (IllegalArgumentException e) {
+                    errors.put(rows.size() + 1, "Unknown role: " + role);
+                }
+            }
+            rows.add(dto);
+        }
+        return new Result(rows, errors);
+    }
+
+    private static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char ch = line.charAt(i);
+            if (quoted) {
+                if (ch == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (ch == '"') {
+                    quoted = false;
+                } else {
+                    current.append(ch);
+                }
+            } else if (ch == '"') {
+                quoted = true;
+            } else if (ch == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(ch);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private static String field(List<String> fields, int index) {
+        if (index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static int indexOfIgnoreCase(List<String> header, String column) {
+        for (int i = 0; i < header.size(); i++) {
+            if (header.get(i).trim().equalsIgnoreCase(column)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String stripBom(String line) {
+        return !line.isEmpty() && line.charAt(0) == '\uFEFF' ? line.substring(1) : line;
+    }
+}
@@ -0,0 +1,28 @@
+package com.graduationProject.gpManagementSystem.security;
+
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+
+import com.graduationProject.gpManagementSystem.model.User;
+import com.graduationProject.gpManagementSystem.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+
+// Called by DaoAuthenticationProvider after a successful login when the stored hash
+// does not match the current encoder settings; stores the fresh hash with one UPDATE.
+@RequiredArgsConstructor
+public class UserPasswordUpgradeService implements UserDetailsPasswordService {
+
+    private final UserRepository repository;
+    private final CachingUserDetailsService userDetailsService;
+
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        repository.updatePasswordByEmail(user.getUsername(), newPassword);
+        userDetailsService.evict(user.getUsername());
+        if (user instanceof User entity) {
+            entity.setPassword(newPassword);
+        }
+        return user;
+    }
+}
@@ -0,0 +1,11 @@
+package com.graduationProject.gpManagementSystem.security;
+
+import java.time.Instant;
+
+// Result of a single signature + expiry check, used by the filter instead of re-parsing the token
+public record VerifiedToken(String subject, Long id, String role, Instant issuedAt, Instant expiresAt) {
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !expiresAt.isAfter(now);
+    }
+}
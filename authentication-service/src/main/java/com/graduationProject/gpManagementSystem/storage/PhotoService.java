@@ -0,0 +1,80 @@
+package com.graduationProject.gpManagementSystem.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.tomcat.util.http.fileupload.FileItemIterator;
+import org.apache.tomcat.util.http.fileupload.FileItemStream;
+import org.apache.tomcat.util.http.fileupload.FileUpload;
+import org.apache.tomcat.util.http.fileupload.FileUploadException;
+import org.apache.tomcat.util.http.fileupload.servlet.ServletRequestContext;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+
+import com.graduationProject.gpManagementSystem.dto.PhotoDTO;
+import com.graduationProject.gpManagementSystem.exception.InvalidPhotoException;
+import com.graduationProject.gpManagementSystem.exception.ResourceNotFoundException;
+import com.graduationProject.gpManagementSystem.model.User;
+import com.graduationProject.gpManagementSystem.repository.UserRepository;
+import com.graduationProject.gpManagementSystem.security.CachingUserDetailsService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class PhotoService {
+
+    private final PhotoStore photoStore;
+    private final ThumbnailGenerator thumbnailGenerator;
+    private final UserRepository repository;
+    private final CachingUserDetailsService userDetailsService;
+
+    // Reads the multipart body as a stream (spring.servlet.multipart is off) and pipes the
+    // "photo" part straight into the store; nothing is buffered in memory or spooled twice.
+    public PhotoDTO upload(Long userId, HttpServletRequest request, Authentication authentication) throws IOException {
+        User user = repository.findById(userId)
+            .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        boolean isAdmin = authentication.getAuthorities().stream().anyMatch(a -> "ADMIN".equals(a.getAuthority()));
+        if (!isAdmin && !user.getEmail().equals(authentication.getName())) {
+            throw new AccessDeniedException("You can only change your own photo");
+        }
+
+        try {
+            FileItemIterator parts = new FileUpload().getItemIterator(new ServletRequestContext(request));
+            while (parts.hasNext()) {
+                FileItemStream part = parts.next();
+                if (part.isFormField() || !"photo".equals(part.getFieldName())) {
+                    continue;
+                }
+                PhotoStore.StoredPhoto stored;
+                try (InputStream in = part.openStream()) {
+                    stored = photoStore.store(in);
+                }
+                repository.updatePhoto(userId, stored.hash(), part.getName());
+                userDetailsService.evict(user.getEmail());
+                thumbnailGenerator.generateAsync(stored.hash());
+                return toDTO(stored.hash(), part.getName());
+            }
+        } catch (FileUploadException e) {
+            throw new InvalidPhotoException("Malformed multipart request: " + e.getMessage());
+        }
+        throw new InvalidPhotoException("Multipart field 'photo' is required");
+    }
+
+    public PhotoDTO toDTO(String hash, String filename) {
+        Map<Integer, String> thumbnails = new LinkedHashMap<>();
+        for (int size : thumbnailGenerator.sizes()) {
+            thumbnails.put(size, "/api/v1/photos/" + hash + "?size=" + size);
+        }
+        return PhotoDTO.builder()
+            .hash(hash)
+            .filename(filename)
+            .url("/api/v1/photos/" + hash)
+            .thumbnails(thumbnails)
+            .build();
+    }
+}
@@ -0,0 +1,120 @@
+package com.graduationProject.gpManagementSystem.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import com.graduationProject.gpManagementSystem.exception.InvalidPhotoException;
+
+// Content-addressed photo store on the local disk: a file's name is the SHA-256 of its bytes,
+// fanned out by the first two hex chars (ab/abcdef...). An upload is hashed while it streams
+// to a temp file in the same directory and is then moved into place, so identical photos are
+// stored once and a stored file never changes - which is what makes strong ETags free.
+@Component
+public class PhotoStore {
+
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path root;
+    private final long maxBytes;
+
+    public record StoredPhoto(String hash, String contentType, long size) {
+    }
+
+    public PhotoStore(@Value("${photos.storage-dir:data/photos}") String storageDir,
+                      @Value("${photos.max-size:10MB}") DataSize maxSize) throws IOException {
+        this.root = Paths.get(storageDir).toAbsolutePath();
+        this.maxBytes = maxSize.toBytes();
+        Files.createDirectories(root);
+    }
+
+    public StoredPhoto store(InputStream content) throws IOException {
+        Files.createDirectories(root);
+        Path temp = Files.createTempFile(root, "upload-", ".tmp");
+        try {
+            MessageDigest sha256 = sha256();
+            byte[] header = new byte[12];
+            long size = 0;
+            int headerLength = 0;
+            try (InputStream in = new DigestInputStream(content, sha256);
+                 OutputStream out = Files.newOutputStream(temp)) {
+                byte[] buffer = new byte[16 * 1024];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    if (headerLength < header.length) {
+                        int copy = Math.min(read, header.length - headerLength);
+                        System.arraycopy(buffer, 0, header, headerLength, copy);
+                        headerLength += copy;
+                    }
+                    size += read;
+                    if (size > maxBytes) {
+                        throw new InvalidPhotoException("Photo must not be larger than " + DataSize.ofBytes(maxBytes).toMegabytes() + "MB");
+                    }
+                    out.write(buffer, 0, read);
+                }
+            }
+            String contentType = sniffContentType(header, headerLength);
+            if (contentType == null) {
+                throw new InvalidPhotoException("Only JPEG, PNG and GIF photos are supported");
+            }
+
+            String hash = HexFormat.of().formatHex(sha256.digest());
+            Path target = original(hash);
+            Files.createDirectories(target.getParent());
+            // an existing file already holds exactly these bytes; a racing identical upload
+            // renaming over it is harmless for the same reason
+            if (!Files.exists(target)) {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            }
+            return new StoredPhoto(hash, contentType, size);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public Path original(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    public Path thumbnail(String hash, int size) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash + "_" + size + ".jpg");
+    }
+
+    public static boolean isValidHash(String hash) {
+        return hash != null && HASH.matcher(hash).matches();
+    }
+
+    public static String sniffContentType(byte[] header, int length) {
+        if (length >= 3 && (header[0] & 0xFF) == 0xFF && (header[1] & 0xFF) == 0xD8 && (header[2] & 0xFF) == 0xFF) {
+            return "image/jpeg";
+        }
+        if (length >= 8 && (header[0] & 0xFF) == 0x89 && header[1] == 'P' && header[2] == 'N' && header[3] == 'G') {
+            return "image/png";
+        }
+        if (length >= 6 && header[0] == 'G' && header[1] == 'I' && header[2] == 'F' && header[3] == '8') {
+            return "image/gif";
+        }
+        return null;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.graduationProject.gpManagementSystem.storage;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+// Renders the fixed thumbnail sizes off the request thread. Work is idempotent and keyed by
+// hash, so a dropped or failed job is simply redone the next time the thumbnail is requested.
+@Slf4j
+@Component
+public class ThumbnailGenerator {
+
+    private static final long MAX_PIXELS = 40_000_000L;
+
+    private final PhotoStore photoStore;
+    private final List<Integer> sizes;
+    private final ThreadPoolExecutor executor;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    public ThumbnailGenerator(PhotoStore photoStore,
+                              @Value("${photos.thumbnail-sizes:64,128,256}") List<Integer> sizes) {
+        this.photoStore = photoStore;
+        this.sizes = List.copyOf(sizes);
+        this.executor = new ThreadPoolExecutor(
+                1, 1,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(256),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "photo-thumbnails");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public boolean isSupportedSize(int size) {
+        return sizes.contains(size);
+    }
+
+    public List<Integer> sizes() {
+        return sizes;
+    }
+
+    public void generateAsync(String hash) {
+        if (!inFlight.add(hash)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(hash);
+                } catch (IOException | RuntimeException e) {
+                    log.warn("Thumbnail generation failed for {}", hash, e);
+                } finally {
+                    inFlight.remove(hash);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // queue full; the next request for a missing thumbnail schedules it again
+            inFlight.remove(hash);
+        }
+    }
+
+    void generate(String hash) throws IOException {
+        BufferedImage source = read(photoStore.original(hash));
+        if (source == null) {
+            return;
+        }
+        for (int size : sizes) {
+            Path target = photoStore.thumbnail(hash, size);
+            if (Files.exists(target)) {
+                continue;
+            }
+            Path temp = Files.createTempFile(target.getParent(), "thumb-", ".tmp");
+            try {
+                ImageIO.write(scale(source, size), "jpg", temp.toFile());
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    // checks the declared dimensions before decoding so a tiny file cannot expand into gigabytes
+    private static BufferedImage read(Path path) throws IOException {
+        try (InputStream in = Files.newInputStream(path);
+             ImageInputStream imageIn = ImageIO.createImageInputStream(in)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(imageIn);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageIn, true, true);
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > MAX_PIXELS) {
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // fits the image inside size x size, keeping the aspect ratio; never upscales
+    private static BufferedImage scale(BufferedImage source, int size) {
+        double factor = Math.min(1.0, Math.min((double) size / source.getWidth(), (double) size / source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * factor));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * factor));
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,81 @@
+package com.graduationProject.gpManagementSystem.websocket;
+
+import java.util.List;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import com.graduationProject.gpManagementSystem.security.JwtUtils;
+import com.graduationProject.gpManagementSystem.security.RevocationList;
+import com.graduationProject.gpManagementSystem.security.VerifiedToken;
+
+import lombok.RequiredArgsConstructor;
+
+// The SockJS/WebSocket handshake cannot carry a bearer header, so the JWT is checked on the
+// STOMP CONNECT frame instead and the session principal is its subject (the email). After
+// that only SUBSCRIBE needs a check: admin topics require the ADMIN role, and clients may
+// not send to broker destinations directly.
+@Component
+@RequiredArgsConstructor
+public class JwtStompChannelInterceptor implements ChannelInterceptor {
+
+    static final String ADMIN_TOPIC_PREFIX = "/topic/admin/";
+
+    private final JwtUtils jwtUtils;
+    private final RevocationList revocationList;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+        switch (accessor.getCommand()) {
+            case CONNECT -> accessor.setUser(authenticate(accessor.getFirstNativeHeader("Authorization")));
+            case SUBSCRIBE -> authorizeSubscribe(accessor);
+            case SEND -> {
+                String destination = accessor.getDestination();
+                if (destination == null || !destination.startsWith("/app/")) {
+                    throw new MessageDeliveryException("Clients may only send to /app destinations");
+                }
+            }
+            default -> {
+            }
+        }
+        return message;
+    }
+
+    private Authentication authenticate(String authorization) {
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            throw new MessageDeliveryException("Missing bearer token on CONNECT");
+        }
+        VerifiedToken token = jwtUtils.verify(authorization.substring(7)).orElse(null);
+        if (token == null || token.subject() == null || revocationList.isRevoked(token.id(), token.issuedAt())) {
+            throw new MessageDeliveryException("Invalid or expired token");
+        }
+        return new UsernamePasswordAuthenticationToken(
+                token.subject(),
+                null,
+                token.role() != null ? List.of(new SimpleGrantedAuthority(token.role())) : List.of());
+    }
+
+    private void authorizeSubscribe(StompHeaderAccessor accessor) {
+        if (!(accessor.getUser() instanceof Authentication authentication)) {
+            throw new MessageDeliveryException("Not connected");
+        }
+        String destination = accessor.getDestination();
+        if (destination != null && destination.startsWith(ADMIN_TOPIC_PREFIX)
+                && authentication.getAuthorities().stream().noneMatch(a -> "ADMIN".equals(a.getAuthority()))) {
+            throw new MessageDeliveryException("ADMIN role required for " + destination);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.graduationProject.gpManagementSystem.websocket;
+
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.graduationProject.gpManagementSystem.dto.RegistrationEventDTO;
+
+import lombok.RequiredArgsConstructor;
+
+// Forwards registration events published by AuthService/AdminUserService to STOMP subscribers,
+// only after the change has committed (or right away when there is no transaction).
+// The simple broker is per instance: with several replicas a client only sees events
+// produced by the replica it is connected to.
+@Component
+@RequiredArgsConstructor
+public class RegistrationEventRelay {
+
+    static final String ADMIN_DESTINATION = JwtStompChannelInterceptor.ADMIN_TOPIC_PREFIX + "registrations";
+    static final String USER_DESTINATION = "/queue/registration";
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    // Publish this instead of the DTO when admins already got a BULK_* summary
+    public record UserOnly(RegistrationEventDTO event) {
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRegistrationEvent(RegistrationEventDTO event) {
+        messagingTemplate.convertAndSend(ADMIN_DESTINATION, event);
+        sendToUser(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserOnlyEvent(UserOnly userOnly) {
+        sendToUser(userOnly.event());
+    }
+
+    private void sendToUser(RegistrationEventDTO event) {
+        if (event.getEmail() != null) {
+            messagingTemplate.convertAndSendToUser(event.getEmail(), USER_DESTINATION, event);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.graduationProject.gpManagementSystem;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+// @DataJpaTest against a real Postgres, for behaviour that depends on real transactions and
+// conditional updates (token rotation, revocation watermarks, shared rate-limit buckets). The
+// tables are created and dropped, so point it at a scratch database; without one the test class
+// is skipped, e.g.
+//   AUTH_TEST_DB_URL=jdbc:postgresql://localhost:5432/auth_test mvn test
+// CI runs these against a postgres service container (.github/workflows/authentication-service.yml).
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@DataJpaTest(properties = {
+    "spring.datasource.url=${AUTH_TEST_DB_URL}",
+    "spring.datasource.username=${AUTH_TEST_DB_USERNAME:postgres}",
+    "spring.datasource.password=${AUTH_TEST_DB_PASSWORD:}",
+    "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIfEnvironmentVariable(named = "AUTH_TEST_DB_URL", matches = ".+")
+public @interface PostgresJpaTest {
+}
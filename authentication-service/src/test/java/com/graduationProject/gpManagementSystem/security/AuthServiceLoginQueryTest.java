@@ -0,0 +1,167 @@
+package com.graduationProject.gpManagementSystem.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.graduationProject.gpManagementSystem.dto.LoginRequestDTO;
+import com.graduationProject.gpManagementSystem.dto.LoginResponseDTO;
+import com.graduationProject.gpManagementSystem.enums.Role;
+import com.graduationProject.gpManagementSystem.enums.Status;
+import com.graduationProject.gpManagementSystem.exception.LoginRateLimitedException;
+import com.graduationProject.gpManagementSystem.model.User;
+import com.graduationProject.gpManagementSystem.repository.UserRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Login must read the user exactly once: the provider loads it, checks the password and the
+// status, and AuthService builds the tokens from the authenticated principal. Every
+// UserRepository call is a query, so any extra lookup fails verifyNoMoreInteractions. Attempts
+// over the rate limit must not reach the lookup at all.
+class AuthServiceLoginQueryTest {
+
+    private static final String EMAIL = "student@example.com";
+    private static final String PASSWORD = "Passw0rd!";
+
+    private final UserRepository repository = mock(UserRepository.class);
+    private final JwtUtils jwtUtils = mock(JwtUtils.class);
+    private final RefreshTokenService refreshTokenService = mock(RefreshTokenService.class);
+
+    private PasswordHashingExecutor hashingExecutor;
+    private ApplicationConfig config;
+    private AuthPhaseTimers timers;
+    private AuthService authService;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        timers = new AuthPhaseTimers(meterRegistry);
+        hashingExecutor = new PasswordHashingExecutor(meterRegistry, 1, 8, 1);
+
+        // the real provider wiring, with a cheap BCrypt cost
+        config = new ApplicationConfig(repository, meterRegistry, hashingExecutor, timers);
+        ReflectionTestUtils.setField(config, "bcryptStrength", 4);
+        ReflectionTestUtils.setField(config, "userCacheTtl", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(config, "userCacheMaxSize", 100L);
+
+        authService = authService(mock(LoginRateLimiter.class));
+        when(jwtUtils.getAccessTokenTtl()).thenReturn(Duration.ofMinutes(15));
+        when(jwtUtils.generateToken(any(User.class))).thenReturn("access-token");
+        when(refreshTokenService.issue(any(User.class))).thenReturn("refresh-token");
+    }
+
+    @AfterEach
+    void tearDown() {
+        hashingExecutor.shutdown();
+    }
+
+    @Test
+    void acceptedLoginIssuesOneQuery() {
+        User user = storedUser(Status.ACCEPTED);
+
+        LoginResponseDTO response = authService.login(new LoginRequestDTO(EMAIL, PASSWORD), "127.0.0.1");
+
+        assertThat(response.getToken()).isEqualTo("access-token");
+        assertThat(response.getRefreshToken()).isEqualTo("refresh-token");
+        verify(repository, times(1)).findByEmail(EMAIL);
+        verifyNoMoreInteractions(repository);
+        verify(jwtUtils).generateToken(user);
+    }
+
+    @Test
+    void pendingUserIsRejectedInsideTheProvider() {
+        storedUser(Status.PENDING);
+
+        LoginResponseDTO response = authService.login(new LoginRequestDTO(EMAIL, PASSWORD), "127.0.0.1");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(response.getToken()).isNull();
+        verify(repository, times(1)).findByEmail(EMAIL);
+        verifyNoMoreInteractions(repository);
+        verify(refreshTokenService, never()).issue(any(User.class));
+    }
+
+    @Test
+    void wrongPasswordFailsBeforeTheStatusCheck() {
+        storedUser(Status.PENDING);
+
+        assertThatThrownBy(() -> authService.login(new LoginRequestDTO(EMAIL, "Wrong-passw0rd!"), "127.0.0.1"))
+            .isInstanceOf(BadCredentialsException.class);
+        verify(repository, times(1)).findByEmail(EMAIL);
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    void emailOverItsLimitIsRejectedBeforeTheUserLookup() {
+        AuthService limited = authService(rateLimiter(1, 100));
+        when(repository.findByEmail("ghost@example.com")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> limited.login(new LoginRequestDTO("ghost@example.com", PASSWORD), "10.0.0.1"))
+            .isInstanceOf(BadCredentialsException.class);
+        // another address, same (differently cased) email
+        assertThatThrownBy(() -> limited.login(new LoginRequestDTO(" Ghost@Example.com", PASSWORD), "10.0.0.2"))
+            .isInstanceOf(LoginRateLimitedException.class);
+        verify(repository, times(1)).findByEmail("ghost@example.com");
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    void addressOverItsLimitIsRejectedBeforeTheUserLookup() {
+        AuthService limited = authService(rateLimiter(100, 1));
+        storedUser(Status.ACCEPTED);
+
+        limited.login(new LoginRequestDTO(EMAIL, PASSWORD), "10.0.0.1");
+        assertThatThrownBy(() -> limited.login(new LoginRequestDTO("other@example.com", PASSWORD), "10.0.0.1"))
+            .isInstanceOf(LoginRateLimitedException.class);
+        verify(repository, times(1)).findByEmail(EMAIL);
+        verifyNoMoreInteractions(repository);
+        verify(refreshTokenService, times(1)).issue(any(User.class));
+    }
+
+    private AuthService authService(LoginRateLimiter loginRateLimiter) {
+        return new AuthService(
+            config.passwordEncoder(),
+            repository,
+            jwtUtils,
+            new ProviderManager(config.authenticationProvider()),
+            config.userDetailsService(),
+            refreshTokenService,
+            mock(TokenRevocationService.class),
+            loginRateLimiter,
+            mock(ApplicationEventPublisher.class),
+            timers
+        );
+    }
+
+    private static LoginRateLimiter rateLimiter(int emailCapacity, int ipCapacity) {
+        return new LoginRateLimiter(List.of(new InMemoryRateLimitStore(1, 100)), new SimpleMeterRegistry(),
+            emailCapacity, 1, ipCapacity, 1);
+    }
+
+    private User storedUser(Status status) {
+        String hash = "{bcrypt}" + new BCryptPasswordEncoder(4).encode(PASSWORD);
+        User user = new User(7L, "student", EMAIL, hash, Role.STUDENT, status);
+        when(repository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+        return user;
+    }
+}
@@ -0,0 +1,89 @@
+package com.graduationProject.gpManagementSystem.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.graduationProject.gpManagementSystem.dto.ChangePasswordDTO;
+import com.graduationProject.gpManagementSystem.enums.Role;
+import com.graduationProject.gpManagementSystem.enums.Status;
+import com.graduationProject.gpManagementSystem.exception.InvalidPasswordException;
+import com.graduationProject.gpManagementSystem.model.User;
+import com.graduationProject.gpManagementSystem.repository.UserRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Rejecting a registration or changing a password ends every session of that user: all refresh
+// token families and, through the revocation watermark, the access tokens already handed out.
+class AuthServiceSessionRevocationTest {
+
+    private static final String PASSWORD = "Passw0rd!";
+
+    private final UserRepository repository = mock(UserRepository.class);
+    private final RefreshTokenService refreshTokenService = mock(RefreshTokenService.class);
+    private final TokenRevocationService tokenRevocationService = mock(TokenRevocationService.class);
+    private final CachingUserDetailsService userDetailsService = mock(CachingUserDetailsService.class);
+    private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+
+    private AuthService authService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        authService = new AuthService(
+            passwordEncoder,
+            repository,
+            mock(JwtUtils.class),
+            mock(AuthenticationManager.class),
+            userDetailsService,
+            refreshTokenService,
+            tokenRevocationService,
+            mock(LoginRateLimiter.class),
+            mock(ApplicationEventPublisher.class),
+            new AuthPhaseTimers(new SimpleMeterRegistry())
+        );
+        user = new User(7L, "student", "student@example.com", passwordEncoder.encode(PASSWORD), Role.STUDENT, Status.ACCEPTED);
+        when(repository.findById(7)).thenReturn(Optional.of(user));
+    }
+
+    @Test
+    void rejectingARegistrationRevokesAllTokens() {
+        authService.rejectUserRegistration(7);
+
+        assertThat(user.getStatus()).isEqualTo(Status.REJECTED);
+        verify(userDetailsService).evict("student@example.com");
+        verify(refreshTokenService).revokeAll(7L);
+        verify(tokenRevocationService).revokeUser(7L);
+    }
+
+    @Test
+    void changingThePasswordRevokesAllTokens() {
+        authService.changePassword(7, new ChangePasswordDTO(PASSWORD, "N3w@passw0rd!"));
+
+        assertThat(passwordEncoder.matches("N3w@passw0rd!", user.getPassword())).isTrue();
+        verify(refreshTokenService).revokeAll(7L);
+        verify(tokenRevocationService).revokeUser(7L);
+    }
+
+    @Test
+    void wrongOldPasswordLeavesTheSessionsAlone() {
+        assertThatThrownBy(() -> authService.changePassword(7, new ChangePasswordDTO("Wrong-passw0rd!", "N3w@passw0rd!")))
+            .isInstanceOf(InvalidPasswordException.class);
+
+        verify(refreshTokenService, never()).revokeAll(anyLong());
+        verify(tokenRevocationService, never()).revokeUser(anyLong());
+    }
+}
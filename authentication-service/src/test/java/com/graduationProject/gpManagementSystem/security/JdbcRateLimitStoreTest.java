@@ -0,0 +1,72 @@
+package com.graduationProject.gpManagementSystem.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.graduationProject.gpManagementSystem.PostgresJpaTest;
+import com.graduationProject.gpManagementSystem.exception.LoginRateLimitedException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Two replicas, each with its own in-memory buckets in front of the shared login_rate_limits table
+@PostgresJpaTest
+@Import(JdbcRateLimitStore.class)
+@TestPropertySource(properties = "security.login-rate-limit.store=jdbc")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JdbcRateLimitStoreTest {
+
+    @Autowired
+    private JdbcRateLimitStore jdbcStore;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from login_rate_limits");
+    }
+
+    @Test
+    void replicasDrawFromOneBudgetOnceTheirLocalBucketsAllow() {
+        LoginRateLimiter first = replica();
+        LoginRateLimiter second = replica();
+
+        first.check("student@example.com", "10.0.0.1");
+        first.check("student@example.com", "10.0.0.2");
+        second.check("student@example.com", "10.0.0.3");
+
+        // the second replica's local bucket has two tokens left, the shared one is empty
+        assertThatThrownBy(() -> second.check("student@example.com", "10.0.0.4"))
+            .isInstanceOfSatisfying(LoginRateLimitedException.class,
+                e -> assertThat(e.getRetryAfterSeconds()).isBetween(1L, 60L));
+        second.check("other@example.com", "10.0.0.4");
+        assertThat(jdbcTemplate.queryForObject(
+            "select tokens from login_rate_limits where bucket_key = 'email:student@example.com'", Double.class))
+            .isLessThan(1);
+    }
+
+    @Test
+    void sharedBucketRefillsAtTheConfiguredRate() throws InterruptedException {
+        RateLimitStore.Limit limit = new RateLimitStore.Limit(1, 20);
+
+        assertThat(jdbcStore.tryConsume("ip:10.0.0.1", limit)).isZero();
+        assertThat(jdbcStore.tryConsume("ip:10.0.0.1", limit)).isBetween(1L, 50L);
+        Thread.sleep(100);
+        assertThat(jdbcStore.tryConsume("ip:10.0.0.1", limit)).isZero();
+    }
+
+    private LoginRateLimiter replica() {
+        return new LoginRateLimiter(List.of(new InMemoryRateLimitStore(1, 100), jdbcStore), new SimpleMeterRegistry(),
+            3, 1, 100, 60);
+    }
+}
@@ -0,0 +1,117 @@
+package com.graduationProject.gpManagementSystem.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.graduationProject.gpManagementSystem.controller.AuthController;
+import com.graduationProject.gpManagementSystem.dto.LoginRequestDTO;
+import com.graduationProject.gpManagementSystem.exception.GlobalExceptionHandler;
+import com.graduationProject.gpManagementSystem.exception.LoginRateLimitedException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LoginRateLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void emailLimitIsSharedAcrossAddressesAndCaseInsensitive() {
+        LoginRateLimiter limiter = limiter(List.of(new InMemoryRateLimitStore(1, 100)), 2, 100);
+
+        limiter.check("student@example.com", "10.0.0.1");
+        limiter.check(" Student@Example.COM ", "10.0.0.2");
+
+        assertThatThrownBy(() -> limiter.check("STUDENT@example.com", "10.0.0.3"))
+            .isInstanceOf(LoginRateLimitedException.class);
+        limiter.check("other@example.com", "10.0.0.3");
+        assertThat(rejections("email")).isEqualTo(1);
+    }
+
+    @Test
+    void addressLimitCoversEveryEmail() {
+        LoginRateLimiter limiter = limiter(List.of(new InMemoryRateLimitStore(1, 100)), 100, 2);
+
+        limiter.check("a@example.com", "10.0.0.1");
+        limiter.check("b@example.com", "10.0.0.1");
+
+        assertThatThrownBy(() -> limiter.check("c@example.com", "10.0.0.1"))
+            .isInstanceOf(LoginRateLimitedException.class);
+        limiter.check("c@example.com", "10.0.0.2");
+        assertThat(rejections("ip")).isEqualTo(1);
+    }
+
+    @Test
+    void retryAfterIsTheWaitForTheNextTokenInWholeSeconds() {
+        // 5 per minute: one token every 12 s
+        LoginRateLimiter limiter = new LoginRateLimiter(List.of(new InMemoryRateLimitStore(1, 100)), meterRegistry,
+            1, 5, 100, 60);
+        limiter.check("student@example.com", "10.0.0.1");
+
+        assertThatThrownBy(() -> limiter.check("student@example.com", "10.0.0.1"))
+            .isInstanceOfSatisfying(LoginRateLimitedException.class,
+                e -> assertThat(e.getRetryAfterSeconds()).isBetween(11L, 12L));
+    }
+
+    @Test
+    void sharedStoreIsOnlyAskedOnceTheLocalBucketAllows() {
+        RateLimitStore shared = mock(RateLimitStore.class);
+        when(shared.tryConsume(anyString(), any())).thenReturn(0L);
+        when(shared.tryConsume(eq("email:student@example.com"), any())).thenReturn(0L, 4_200L);
+        LoginRateLimiter limiter = limiter(List.of(new InMemoryRateLimitStore(1, 100), shared), 2, 100);
+
+        limiter.check("student@example.com", "10.0.0.1");
+        // the local bucket still has a token, the shared one (other replicas) is empty
+        assertThatThrownBy(() -> limiter.check("student@example.com", "10.0.0.1"))
+            .isInstanceOfSatisfying(LoginRateLimitedException.class,
+                e -> assertThat(e.getRetryAfterSeconds()).isEqualTo(5));
+        // now the local bucket is empty and rejects without a round trip
+        assertThatThrownBy(() -> limiter.check("student@example.com", "10.0.0.1"))
+            .isInstanceOf(LoginRateLimitedException.class);
+
+        verify(shared, times(2)).tryConsume(eq("email:student@example.com"), any());
+        verify(shared, times(3)).tryConsume(eq("ip:10.0.0.1"), any());
+    }
+
+    @Test
+    void rateLimitedLoginIsAnswered429WithRetryAfter() throws Exception {
+        AuthService authService = mock(AuthService.class);
+        when(authService.login(any(LoginRequestDTO.class), anyString()))
+            .thenThrow(new LoginRateLimitedException("Too many login attempts, please retry later.", 7));
+        MockMvc mockMvc = MockMvcBuilders
+            .standaloneSetup(new AuthController(authService, mock(TokenIntrospectionService.class)))
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .build();
+
+        mockMvc.perform(post("/api/v1/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"student@example.com\",\"password\":\"Passw0rd!\"}"))
+            .andExpect(status().isTooManyRequests())
+            .andExpect(header().string(HttpHeaders.RETRY_AFTER, "7"));
+    }
+
+    private LoginRateLimiter limiter(List<RateLimitStore> stores, int emailCapacity, int ipCapacity) {
+        return new LoginRateLimiter(stores, meterRegistry, emailCapacity, 1, ipCapacity, 1);
+    }
+
+    private double rejections(String key) {
+        return meterRegistry.get("auth.login.rate_limited").tag("key", key).counter().count();
+    }
+}
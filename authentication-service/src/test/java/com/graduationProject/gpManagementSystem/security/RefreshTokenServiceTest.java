@@ -0,0 +1,158 @@
+package com.graduationProject.gpManagementSystem.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.graduationProject.gpManagementSystem.PostgresJpaTest;
+import com.graduationProject.gpManagementSystem.enums.Role;
+import com.graduationProject.gpManagementSystem.enums.Status;
+import com.graduationProject.gpManagementSystem.exception.InvalidRefreshTokenException;
+import com.graduationProject.gpManagementSystem.model.RefreshToken;
+import com.graduationProject.gpManagementSystem.model.User;
+import com.graduationProject.gpManagementSystem.repository.RefreshTokenRepository;
+import com.graduationProject.gpManagementSystem.repository.UserRepository;
+
+// Not wrapped in a test transaction: every service call commits or rolls back on its own, which
+// is what shows that the family revocation on reuse outlives the failed refresh.
+@PostgresJpaTest
+@Import(RefreshTokenService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RefreshTokenServiceTest {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+            .username("student")
+            .email("student@example.com")
+            .password("{noop}unused")
+            .role(Role.STUDENT)
+            .status(Status.ACCEPTED)
+            .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        refreshTokenRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void refreshConsumesTheTokenAndHandsBackANewOneFromTheSameFamily() {
+        String first = refreshTokenService.issue(user);
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(first);
+
+        assertThat(rotation.user().getId()).isEqualTo(user.getId());
+        assertThat(rotation.refreshToken()).isNotEqualTo(first);
+        RefreshToken used = stored(first);
+        RefreshToken current = stored(rotation.refreshToken());
+        assertThat(used.getUsedAt()).isNotNull();
+        assertThat(current.getUsedAt()).isNull();
+        assertThat(current.getFamilyId()).isEqualTo(used.getFamilyId());
+        assertThat(refreshTokenService.rotate(rotation.refreshToken()).refreshToken()).isNotNull();
+    }
+
+    @Test
+    void reusingAConsumedTokenRevokesTheWholeFamilyDespiteTheRollback() {
+        String first = refreshTokenService.issue(user);
+        String second = refreshTokenService.rotate(first).refreshToken();
+        String otherLogin = refreshTokenService.issue(user);
+
+        assertThatThrownBy(() -> refreshTokenService.rotate(first))
+            .isInstanceOf(InvalidRefreshTokenException.class)
+            .hasMessageContaining("reuse");
+
+        // read back in new transactions, so only committed state is seen
+        String family = stored(first).getFamilyId();
+        List<RefreshToken> chain = refreshTokenRepository.findAll().stream()
+            .filter(token -> token.getFamilyId().equals(family))
+            .toList();
+        assertThat(chain).hasSize(2).allSatisfy(token -> assertThat(token.getRevokedAt()).isNotNull());
+        assertThatThrownBy(() -> refreshTokenService.rotate(second))
+            .isInstanceOf(InvalidRefreshTokenException.class)
+            .hasMessageContaining("revoked");
+        // a separate login is a separate family
+        assertThat(stored(otherLogin).getRevokedAt()).isNull();
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        String rawToken = "expired-refresh-token";
+        Instant issuedAt = Instant.now().minus(Duration.ofDays(15));
+        refreshTokenRepository.save(RefreshToken.builder()
+            .tokenHash(RefreshTokenService.hash(rawToken))
+            .userId(user.getId())
+            .familyId("expired-family")
+            .createdAt(issuedAt)
+            .expiresAt(issuedAt.plus(Duration.ofDays(14)))
+            .build());
+
+        assertThatThrownBy(() -> refreshTokenService.rotate(rawToken))
+            .isInstanceOf(InvalidRefreshTokenException.class)
+            .hasMessageContaining("expired");
+        assertThat(stored(rawToken).getUsedAt()).isNull();
+    }
+
+    @Test
+    void unknownTokenIsRejected() {
+        assertThatThrownBy(() -> refreshTokenService.rotate("never-issued"))
+            .isInstanceOf(InvalidRefreshTokenException.class);
+    }
+
+    @Test
+    void revokeAllEndsEveryFamilyOfTheUserOnly() {
+        User other = userRepository.save(User.builder()
+            .username("other")
+            .email("other@example.com")
+            .password("{noop}unused")
+            .role(Role.STUDENT)
+            .status(Status.ACCEPTED)
+            .build());
+        String laptop = refreshTokenService.issue(user);
+        String phone = refreshTokenService.rotate(refreshTokenService.issue(user)).refreshToken();
+        String untouched = refreshTokenService.issue(other);
+
+        refreshTokenService.revokeAll(user.getId());
+
+        assertThatThrownBy(() -> refreshTokenService.rotate(laptop)).isInstanceOf(InvalidRefreshTokenException.class);
+        assertThatThrownBy(() -> refreshTokenService.rotate(phone)).isInstanceOf(InvalidRefreshTokenException.class);
+        assertThat(refreshTokenService.rotate(untouched).user().getId()).isEqualTo(other.getId());
+    }
+
+    @Test
+    void inactiveAccountCannotRefresh() {
+        String rawToken = refreshTokenService.issue(user);
+        user.setStatus(Status.REJECTED);
+        userRepository.save(user);
+
+        assertThatThrownBy(() -> refreshTokenService.rotate(rawToken))
+            .isInstanceOf(InvalidRefreshTokenException.class)
+            .hasMessageContaining("not active");
+        assertThat(stored(rawToken).getRevokedAt()).isNotNull();
+    }
+
+    private RefreshToken stored(String rawToken) {
+        return refreshTokenRepository.findByTokenHash(RefreshTokenService.hash(rawToken)).orElseThrow();
+    }
+}
@@ -0,0 +1,72 @@
+package com.graduationProject.gpManagementSystem.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+
+class RevocationListTest {
+
+    private static final long WATERMARK = 1_700_000_000_000L;
+
+    private final RevocationList revocationList = new RevocationList();
+
+    @Test
+    void tokensIssuedUpToAndIncludingTheWatermarkAreRevoked() {
+        revocationList.revoke(7L, WATERMARK);
+
+        assertThat(revocationList.isRevoked(7L, Instant.ofEpochMilli(WATERMARK - 1))).isTrue();
+        assertThat(revocationList.isRevoked(7L, Instant.ofEpochMilli(WATERMARK))).isTrue();
+        assertThat(revocationList.isRevoked(7L, Instant.ofEpochMilli(WATERMARK + 1))).isFalse();
+        // a token without iat cannot be placed after the watermark
+        assertThat(revocationList.isRevoked(7L, null)).isTrue();
+    }
+
+    @Test
+    void usersThatWereNeverRevokedPass() {
+        assertThat(revocationList.isRevoked(7L, Instant.ofEpochMilli(WATERMARK))).isFalse();
+        assertThat(revocationList.isRevoked(null, Instant.ofEpochMilli(WATERMARK))).isFalse();
+
+        revocationList.revoke(7L, WATERMARK);
+
+        assertThat(revocationList.isRevoked(8L, Instant.ofEpochMilli(WATERMARK))).isFalse();
+    }
+
+    @Test
+    void bloomFilterFalsePositivesFallBackToTheWatermarks() {
+        // 60k revoked users set most of the 64k bits, so nearly every other id passes the filter
+        // and is only cleared by the watermark lookup
+        revocationList.revokeAll(LongStream.range(0, 60_000).boxed().toList(), WATERMARK);
+
+        assertThat(revocationList.size()).isEqualTo(60_000);
+        assertThat(revocationList.isRevoked(59_999L, Instant.ofEpochMilli(WATERMARK))).isTrue();
+        LongStream.range(1_000_000, 1_010_000).forEach(userId ->
+            assertThat(revocationList.isRevoked(userId, Instant.ofEpochMilli(WATERMARK))).isFalse());
+    }
+
+    @Test
+    void watermarksOnlyMoveForward() {
+        revocationList.revoke(7L, WATERMARK);
+        revocationList.revoke(7L, WATERMARK - 1_000);
+        revocationList.revokeAll(List.of(7L, 8L), WATERMARK - 1_000);
+
+        assertThat(revocationList.isRevoked(7L, Instant.ofEpochMilli(WATERMARK))).isTrue();
+        assertThat(revocationList.isRevoked(8L, Instant.ofEpochMilli(WATERMARK))).isFalse();
+        assertThat(revocationList.isRevoked(8L, Instant.ofEpochMilli(WATERMARK - 1_000))).isTrue();
+    }
+
+    @Test
+    void replaceAllDropsUsersMissingFromTheTable() {
+        revocationList.revoke(7L, WATERMARK);
+
+        revocationList.replaceAll(Map.of(8L, WATERMARK));
+
+        assertThat(revocationList.size()).isEqualTo(1);
+        assertThat(revocationList.isRevoked(7L, Instant.ofEpochMilli(WATERMARK))).isFalse();
+        assertThat(revocationList.isRevoked(8L, Instant.ofEpochMilli(WATERMARK))).isTrue();
+    }
+}
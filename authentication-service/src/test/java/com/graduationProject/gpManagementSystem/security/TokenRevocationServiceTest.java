@@ -0,0 +1,157 @@
+package com.graduationProject.gpManagementSystem.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.graduationProject.gpManagementSystem.PostgresJpaTest;
+import com.graduationProject.gpManagementSystem.enums.Role;
+import com.graduationProject.gpManagementSystem.enums.Status;
+import com.graduationProject.gpManagementSystem.model.User;
+import com.graduationProject.gpManagementSystem.repository.TokenRevocationRepository;
+import com.graduationProject.gpManagementSystem.repository.UserRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Not wrapped in a test transaction, so the after-commit update of the local RevocationList and
+// the NOTIFY delivery happen as they do in production.
+@PostgresJpaTest
+@Import({TokenRevocationService.class, RevocationList.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TokenRevocationServiceTest {
+
+    private static final long PROBE_USER_ID = 999_999L;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+    @Autowired
+    private RevocationList revocationList;
+    @Autowired
+    private TokenRevocationRepository tokenRevocationRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User alice;
+    private User bob;
+
+    @BeforeEach
+    void setUp() {
+        revocationList.replaceAll(Map.of());
+        alice = userRepository.save(user("alice"));
+        bob = userRepository.save(user("bob"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        tokenRevocationRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void localListIsUpdatedOnlyAfterCommit() {
+        Instant issuedBefore = Instant.now().minusSeconds(1);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            tokenRevocationService.revokeUser(alice.getId());
+            assertThat(revocationList.isRevoked(alice.getId(), issuedBefore)).isFalse();
+        });
+
+        assertThat(revocationList.isRevoked(alice.getId(), issuedBefore)).isTrue();
+        assertThat(tokenRevocationRepository.findById(alice.getId())).isPresent();
+    }
+
+    @Test
+    void rolledBackRevocationLeavesTheLocalListAlone() {
+        Instant issuedBefore = Instant.now().minusSeconds(1);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            tokenRevocationService.revokeUsers(List.of(alice.getId(), bob.getId()));
+            status.setRollbackOnly();
+        });
+
+        assertThat(revocationList.isRevoked(alice.getId(), issuedBefore)).isFalse();
+        assertThat(revocationList.isRevoked(bob.getId(), issuedBefore)).isFalse();
+        assertThat(tokenRevocationRepository.count()).isZero();
+    }
+
+    @Test
+    void listenerAppliesSingleUserNotificationsAndResyncsOnTheBulkPayload() {
+        // a second node: its own list, fed only by the listener
+        RevocationList remote = new RevocationList();
+        RevocationListener listener = new RevocationListener(remote, dataSourceProperties, new SimpleMeterRegistry(),
+            Duration.ofDays(7), Duration.ofMinutes(10));
+        listener.start();
+        try {
+            // "<userId>:<millis>" is applied as is; retried until the listener has subscribed
+            long probeWatermark = Instant.now().toEpochMilli();
+            assertThat(awaitTrue(() -> {
+                notify(RevocationListener.CHANNEL, "not-a-revocation");
+                notify(RevocationListener.CHANNEL, PROBE_USER_ID + ":" + probeWatermark);
+                return remote.isRevoked(PROBE_USER_ID, Instant.ofEpochMilli(probeWatermark));
+            })).isTrue();
+
+            Instant issuedBefore = Instant.now().minusSeconds(1);
+            tokenRevocationService.revokeUsers(List.of(alice.getId(), bob.getId()));
+
+            // "*" makes the listener re-read token_revocations, which has no row for the probe user
+            assertThat(awaitTrue(() -> remote.isRevoked(alice.getId(), issuedBefore)
+                && remote.isRevoked(bob.getId(), issuedBefore))).isTrue();
+            assertThat(remote.isRevoked(PROBE_USER_ID, Instant.ofEpochMilli(probeWatermark))).isFalse();
+            assertThat(remote.size()).isEqualTo(2);
+        } finally {
+            listener.stop();
+        }
+    }
+
+    private void notify(String channel, String payload) {
+        jdbcTemplate.queryForObject("select cast(pg_notify(?, ?) as text)", String.class, channel, payload);
+    }
+
+    private static boolean awaitTrue(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(15).toNanos();
+        while (System.nanoTime() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static User user(String name) {
+        return User.builder()
+            .username(name)
+            .email(name + "@example.com")
+            .password("{noop}unused")
+            .role(Role.STUDENT)
+            .status(Status.ACCEPTED)
+            .build();
+    }
+}
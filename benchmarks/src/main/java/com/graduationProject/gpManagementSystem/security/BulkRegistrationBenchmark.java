@@ -0,0 +1,84 @@
+package com.graduationProject.gpManagementSystem.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// CPU side of a 10k-user bulk registration: CSV parsing plus password hashing, one row at a
+// time (what 10k calls to /register do) versus BulkPasswordHasher. The database side is
+// covered by scripts/loadtest/bulk-register.sh against a running stack. The default cost
+// keeps a run short; pass -p cost=10 to see production-like numbers.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class BulkRegistrationBenchmark {
+
+    private static final int USERS = 10_000;
+
+    @Param({"4"})
+    public int cost;
+
+    private String csv;
+    private BCryptPasswordEncoder encoder;
+    private BulkPasswordHasher hasher;
+
+    @Setup
+    public void setup() {
+        StringBuilder builder = new StringBuilder("username,email,password,role\n");
+        for (int i = 0; i < USERS; i++) {
+            builder.append("student").append(i).append(",student").append(i)
+                    .append("@example.com,Passw0rd!").append(i).append(",STUDENT\n");
+        }
+        csv = builder.toString();
+        encoder = new BCryptPasswordEncoder(cost);
+        hasher = new BulkPasswordHasher(encoder, 0, Duration.ofSeconds(30), 1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        hasher.shutdown();
+    }
+
+    @Benchmark
+    public List<String> sequential() throws IOException {
+        UserCsvParser.Result parsed = UserCsvParser.parse(new StringReader(csv), USERS);
+        List<String> hashes = new ArrayList<>(USERS);
+        parsed.rows().forEach(row -> hashes.add(encoder.encode(row.getPassword())));
+        return hashes;
+    }
+
+    @Benchmark
+    public List<String> bulkHasher() throws IOException {
+        UserCsvParser.Result parsed = UserCsvParser.parse(new StringReader(csv), USERS);
+        return hasher.hashAll(parsed.rows().stream().map(row -> row.getPassword()).toList());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BulkRegistrationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
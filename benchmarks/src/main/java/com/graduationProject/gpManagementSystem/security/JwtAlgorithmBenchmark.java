@@ -0,0 +1,111 @@
+package com.graduationProject.gpManagementSystem.security;
+
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.graduationProject.gpManagementSystem.enums.Role;
+import com.graduationProject.gpManagementSystem.enums.Status;
+import com.graduationProject.gpManagementSystem.model.User;
+
+import java.security.Key;
+import java.security.KeyPair;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+
+// Verify cost per signature algorithm with prebuilt parsers, plus the kid-resolving JwtUtils path
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAlgorithmBenchmark {
+
+    private JwtParser hs256Parser;
+    private JwtParser es256Parser;
+    private JwtParser rs256Parser;
+    private String hs256Token;
+    private String es256Token;
+    private String rs256Token;
+
+    private JwtUtils jwtUtils;
+    private String jwtUtilsToken;
+
+    @Setup
+    public void setup() {
+        SecretKey hmacKey = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+        KeyPair ec = Keys.keyPairFor(SignatureAlgorithm.ES256);
+        KeyPair rsa = Keys.keyPairFor(SignatureAlgorithm.RS256);
+
+        hs256Token = token(hmacKey, SignatureAlgorithm.HS256);
+        es256Token = token(ec.getPrivate(), SignatureAlgorithm.ES256);
+        rs256Token = token(rsa.getPrivate(), SignatureAlgorithm.RS256);
+        hs256Parser = Jwts.parserBuilder().setSigningKey(hmacKey).build();
+        es256Parser = Jwts.parserBuilder().setSigningKey(ec.getPublic()).build();
+        rs256Parser = Jwts.parserBuilder().setSigningKey(rsa.getPublic()).build();
+
+        SigningKeyManager keyManager = new SigningKeyManager(null, null, null, null, Duration.ZERO);
+        KeyPair signing = SigningKeyManager.generateKeyPair();
+        keyManager.setKeys(List.of(new SigningKeyManager.ActiveKey("bench", signing.getPrivate(), signing.getPublic(), Instant.now())));
+        jwtUtils = new JwtUtils(keyManager, Duration.ofMinutes(15), LegacyHs256Window.disabled());
+        jwtUtilsToken = jwtUtils.generateToken(new User(42L, "bench", "bench@example.com", "x", Role.ADMIN, Status.ACCEPTED));
+    }
+
+    @Benchmark
+    public Object hs256() {
+        return hs256Parser.parseClaimsJws(hs256Token).getBody();
+    }
+
+    @Benchmark
+    public Object es256() {
+        return es256Parser.parseClaimsJws(es256Token).getBody();
+    }
+
+    @Benchmark
+    public Object rs256() {
+        return rs256Parser.parseClaimsJws(rs256Token).getBody();
+    }
+
+    @Benchmark
+    public Object es256WithKidLookup() {
+        return jwtUtils.verify(jwtUtilsToken).orElseThrow();
+    }
+
+    private static String token(Key key, SignatureAlgorithm algorithm) {
+        return Jwts.builder()
+                .claim("id", 42L)
+                .claim("role", "ADMIN")
+                .setSubject("bench@example.com")
+                .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60))
+                .signWith(key, algorithm)
+                .compact();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtAlgorithmBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
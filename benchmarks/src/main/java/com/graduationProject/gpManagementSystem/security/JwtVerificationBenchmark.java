@@ -0,0 +1,93 @@
+package com.graduationProject.gpManagementSystem.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.Key;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+// Compares the per-request cost of the old three-parse filter path with JwtUtils.verify.
+// Run main() (or the JMH runner) and read ns/op next to gc.alloc.rate.norm for bytes/op.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET_KEY = "680985b33fccdb28ed249302d4cf185a45c2c249fe0f54db51c05e6831bf3c60";
+
+    private JwtUtils jwtUtils;
+    private String token;
+    private String email;
+
+    @Setup
+    public void setup() {
+        // both paths verify the same HS256 token so only the parsing strategy differs
+        // the token is issued before the cutover, so it falls inside the legacy window
+        LegacyHs256Window legacyHs256 = new LegacyHs256Window(true, SECRET_KEY, Instant.now().plus(Duration.ofHours(1)).toString());
+        jwtUtils = new JwtUtils(new SigningKeyManager(null, null, null, null, Duration.ZERO), Duration.ofMinutes(15), legacyHs256);
+        email = "bench@example.com";
+        token = Jwts.builder()
+                .claim("id", 42L)
+                .claim("role", "ADMIN")
+                .setSubject(email)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET_KEY)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    // What JwtAuthenticationFilter did before: extractUserName, then isTokenValid
+    // (extractUserName + isTokenExpired), each rebuilding the key and the parser.
+    @Benchmark
+    public boolean legacyFilterPath() {
+        String userName = legacyClaims(token).getSubject();
+        boolean sameUser = legacyClaims(token).getSubject().equals(email) && userName != null;
+        return sameUser && !legacyClaims(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public boolean verifyOnce() {
+        return jwtUtils.verify(token)
+                .map(verified -> verified.subject().equals(email))
+                .orElse(false);
+    }
+
+    private static Claims legacyClaims(String token) {
+        Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET_KEY));
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
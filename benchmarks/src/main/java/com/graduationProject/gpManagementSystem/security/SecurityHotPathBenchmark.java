@@ -0,0 +1,131 @@
+package com.graduationProject.gpManagementSystem.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.graduationProject.gpManagementSystem.enums.Role;
+import com.graduationProject.gpManagementSystem.enums.Status;
+import com.graduationProject.gpManagementSystem.model.User;
+
+import java.security.KeyPair;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// The auth-service code that runs on every request or login: token issuance, the JWT filter
+// (both trust-claims modes, with a warm user cache), the authentication objects it allocates
+// and the password policy regex.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecurityHotPathBenchmark {
+
+    private static final String PASSWORD_REGEX = "^(?=.*[A-Z])(?=.*[a-z])(?=.*\\d)(?=.*[@$!%*?&])[A-Za-z\\d@$!%*?&]{8,}$";
+
+    private JwtUtils jwtUtils;
+    private User user;
+    private String password;
+
+    @Setup
+    public void setup() {
+        jwtUtils = jwtUtils();
+        user = new User(42L, "bench", "bench@example.com", "x", Role.ADMIN, Status.ACCEPTED);
+        password = "Sup3r$ecret";
+    }
+
+    @State(Scope.Benchmark)
+    public static class FilterState {
+
+        @Param({"false", "true"})
+        public boolean trustClaims;
+
+        private JwtAuthenticationFilter filter;
+        private MockHttpServletRequest request;
+        private MockHttpServletResponse response;
+        private FilterChain chain;
+
+        @Setup
+        public void setup() {
+            JwtUtils jwtUtils = jwtUtils();
+            User user = new User(42L, "bench", "bench@example.com", "x", Role.ADMIN, Status.ACCEPTED);
+            VerifiedTokenCache tokenCache = new VerifiedTokenCache(jwtUtils, new SimpleMeterRegistry(), 10_000);
+            // stands in for a CachingUserDetailsService hit
+            filter = new JwtAuthenticationFilter(tokenCache, email -> user, new RevocationList());
+            ReflectionTestUtils.setField(filter, "trustClaims", trustClaims);
+
+            request = new MockHttpServletRequest("GET", "/api/v1/users/me");
+            request.addHeader("Authorization", "Bearer " + jwtUtils.generateToken(user));
+            response = new MockHttpServletResponse();
+            chain = (req, res) -> { };
+        }
+    }
+
+    private static JwtUtils jwtUtils() {
+        SigningKeyManager keyManager = new SigningKeyManager(null, null, null, null, Duration.ZERO);
+        KeyPair signing = SigningKeyManager.generateKeyPair();
+        keyManager.setKeys(List.of(new SigningKeyManager.ActiveKey("bench", signing.getPrivate(), signing.getPublic(), Instant.now())));
+        return new JwtUtils(keyManager, Duration.ofMinutes(15), LegacyHs256Window.disabled());
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtils.generateToken(user);
+    }
+
+    // verified-token cache hit, revocation check, authentication object, security context
+    @Benchmark
+    public Authentication filter(FilterState state) throws Exception {
+        state.filter.doFilterInternal(state.request, state.response, state.chain);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    @Benchmark
+    public Authentication authenticationToken() {
+        return new UsernamePasswordAuthenticationToken(user.getEmail(), null, List.of(new SimpleGrantedAuthority(user.getRole().name())));
+    }
+
+    @Benchmark
+    public boolean passwordRegexPerCall() {
+        return password.matches(PASSWORD_REGEX);
+    }
+
+    @Benchmark
+    public boolean isValidPassword() {
+        return AuthService.isValidPassword(password);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SecurityHotPathBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
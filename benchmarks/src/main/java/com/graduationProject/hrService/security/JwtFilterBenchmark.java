@@ -0,0 +1,107 @@
+package com.graduationProject.hrService.security;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+
+import java.security.KeyPair;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Per-request JWT cost in hr-service: a cold ES256 verify against the JWKS keys, a
+// VerifiedTokenCache hit and the whole filter (in-place AuthenticationCache hit, revocation
+// check, security context).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    private JwtUtils jwtUtils;
+    private VerifiedTokenCache tokenCache;
+    private JwtAuthenticationFilter filter;
+    private String token;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private FilterChain chain;
+    private SecurityContext context;
+
+    @Setup
+    public void setup() {
+        // same shape as an auth-service token: ES256 with a kid the JWKS cache knows
+        KeyPair signing = Keys.keyPairFor(SignatureAlgorithm.ES256);
+        JwksKeyCache jwksKeyCache = new JwksKeyCache("http://localhost/.well-known/jwks.json");
+        jwksKeyCache.setKeys(Map.of("bench", signing.getPublic()));
+        jwtUtils = new JwtUtils(jwksKeyCache, LegacyHs256Window.disabled());
+        tokenCache = new VerifiedTokenCache(jwtUtils, new SimpleMeterRegistry(), 10_000);
+        filter = new JwtAuthenticationFilter(new AuthenticationCache(tokenCache, new RevocationList(), 4096));
+
+        long now = System.currentTimeMillis();
+        token = Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, "bench")
+                .claim("id", 42L)
+                .claim("role", "ADMIN")
+                .setSubject("bench@example.com")
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + 60 * 60 * 1000))
+                .signWith(signing.getPrivate(), SignatureAlgorithm.ES256)
+                .compact();
+        request = new MockHttpServletRequest("GET", "/api/v1/hr/attendances");
+        request.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+        chain = (req, res) -> { };
+        context = new SecurityContextImpl();
+    }
+
+    @Benchmark
+    public Object verify() {
+        return jwtUtils.verify(token).orElseThrow();
+    }
+
+    @Benchmark
+    public Object cacheHit() {
+        return tokenCache.get(token);
+    }
+
+    @Benchmark
+    public Authentication filter() throws Exception {
+        // reuse one context instead of letting the holder create a new one per call
+        context.setAuthentication(null);
+        SecurityContextHolder.setContext(context);
+        filter.doFilterInternal(request, response, chain);
+        return context.getAuthentication();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtFilterBenchmark.class.getName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
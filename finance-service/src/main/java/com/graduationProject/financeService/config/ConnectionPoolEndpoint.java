@@ -0,0 +1,56 @@
+package com.graduationProject.financeService.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+// GET /actuator/dbpool shows the live pool state; POST /actuator/dbpool with
+// {"maximumPoolSize": n, "minimumIdle": m} resizes it at runtime (ADMIN only, see SecurityConfiguration)
+@Component
+@Endpoint(id = "dbpool")
+@RequiredArgsConstructor
+public class ConnectionPoolEndpoint {
+
+    public record PoolState(String poolName, int maximumPoolSize, int minimumIdle,
+                            int active, int idle, int pending, int total,
+                            ConnectionPoolGuard.Budget budget) {
+    }
+
+    private final HikariDataSource dataSource;
+    private final ConnectionPoolGuard guard;
+
+    @ReadOperation
+    public PoolState pool() {
+        return state(guard.current());
+    }
+
+    @WriteOperation
+    public PoolState resize(int maximumPoolSize, @Nullable Integer minimumIdle) {
+        int idle = minimumIdle != null ? minimumIdle : Math.min(dataSource.getMinimumIdle(), maximumPoolSize);
+        if (maximumPoolSize < 1 || idle < 0 || idle > maximumPoolSize) {
+            throw new InvalidEndpointRequestException("Expected 1 <= maximumPoolSize and 0 <= minimumIdle <= maximumPoolSize",
+                    "Invalid pool size");
+        }
+        try {
+            return state(guard.resize(maximumPoolSize, idle));
+        } catch (IllegalStateException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), "Pool size exceeds the shared connection budget");
+        }
+    }
+
+    private PoolState state(ConnectionPoolGuard.Budget budget) {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        return new PoolState(dataSource.getPoolName(), dataSource.getMaximumPoolSize(), dataSource.getMinimumIdle(),
+                pool != null ? pool.getActiveConnections() : 0,
+                pool != null ? pool.getIdleConnections() : 0,
+                pool != null ? pool.getThreadsAwaitingConnection() : 0,
+                pool != null ? pool.getTotalConnections() : 0,
+                budget);
+    }
+}
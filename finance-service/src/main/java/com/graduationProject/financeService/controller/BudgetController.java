@@ -2,17 +2,21 @@ package com.graduationProject.financeService.controller;
 
 import com.graduationProject.financeService.dto.ApiResponse;
 import com.graduationProject.financeService.dto.BudgetDTO;
+import com.graduationProject.financeService.dto.BudgetReconciliationDTO;
+import com.graduationProject.financeService.dto.BudgetUtilizationDTO;
+import com.graduationProject.financeService.dto.PageDTO;
 import com.graduationProject.financeService.service.BudgetService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.time.LocalDate;
 
 @RestController
 @RequestMapping("/api/v1/finance/budgets")
@@ -35,11 +39,17 @@ public class BudgetController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
     
-    @Operation(summary = "Get all budgets")
+    // e.g. GET ?category=IT&from=2024-01-01&limit=100, then pass data.nextCursor back as ?cursor= while data.hasMore
+    @Operation(summary = "Get budgets, newest first, one keyset page at a time")
     @GetMapping
-    public ResponseEntity<ApiResponse<List<BudgetDTO>>> getAllBudgets() {
-        List<BudgetDTO> budgets = budgetService.getAllBudgets();
-        ApiResponse<List<BudgetDTO>> response = new ApiResponse<>(
+    public ResponseEntity<ApiResponse<PageDTO<BudgetDTO>>> getAllBudgets(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        PageDTO<BudgetDTO> budgets = budgetService.getBudgets(category, from, to, cursor, limit);
+        ApiResponse<PageDTO<BudgetDTO>> response = new ApiResponse<>(
             "success",
             "Budgets retrieved successfully",
             budgets
@@ -59,6 +69,31 @@ public class BudgetController {
         return ResponseEntity.ok(response);
     }
     
+    @Operation(summary = "Get budget utilization (allocated, spent, remaining)")
+    @GetMapping("/{id}/utilization")
+    public ResponseEntity<ApiResponse<BudgetUtilizationDTO>> getBudgetUtilization(@PathVariable Long id) {
+        BudgetUtilizationDTO utilization = budgetService.getUtilization(id);
+        ApiResponse<BudgetUtilizationDTO> response = new ApiResponse<>(
+            "success",
+            "Budget utilization retrieved successfully",
+            utilization
+        );
+        return ResponseEntity.ok(response);
+    }
+    
+    @Operation(summary = "Check spent totals against a full recompute, optionally repairing them")
+    @PostMapping("/reconcile")
+    public ResponseEntity<ApiResponse<BudgetReconciliationDTO>> reconcileBudgets(
+            @RequestParam(defaultValue = "false") boolean repair) {
+        BudgetReconciliationDTO result = budgetService.reconcile(repair);
+        ApiResponse<BudgetReconciliationDTO> response = new ApiResponse<>(
+            "success",
+            result.getDrifted() + " of " + result.getChecked() + " budgets drifted",
+            result
+        );
+        return ResponseEntity.ok(response);
+    }
+    
     @Operation(summary = "Update budget")
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<BudgetDTO>> updateBudget(
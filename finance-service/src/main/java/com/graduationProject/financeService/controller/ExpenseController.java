@@ -2,18 +2,23 @@ package com.graduationProject.financeService.controller;
 
 import com.graduationProject.financeService.dto.ApiResponse;
 import com.graduationProject.financeService.dto.ExpenseDTO;
+import com.graduationProject.financeService.dto.MonthlyExpenseRollupDTO;
+import com.graduationProject.financeService.dto.PageDTO;
 import com.graduationProject.financeService.enums.ExpenseCategory;
+import com.graduationProject.financeService.service.ExpenseRollupService;
 import com.graduationProject.financeService.service.ExpenseService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.time.LocalDate;
+import java.time.YearMonth;
 
 @RestController
 @RequestMapping("/api/v1/finance/expenses")
@@ -23,6 +28,7 @@ import java.util.List;
 public class ExpenseController {
     
     private final ExpenseService expenseService;
+    private final ExpenseRollupService rollupService;
     
     @Operation(summary = "Create a new expense")
     @PostMapping
@@ -36,11 +42,17 @@ public class ExpenseController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
     
-    @Operation(summary = "Get all expenses")
+    // e.g. GET ?category=TRAVEL&from=2024-01-01&to=2024-03-31&limit=100, then pass data.nextCursor back as ?cursor= while data.hasMore
+    @Operation(summary = "Get expenses, newest first, one keyset page at a time")
     @GetMapping
-    public ResponseEntity<ApiResponse<List<ExpenseDTO>>> getAllExpenses() {
-        List<ExpenseDTO> expenses = expenseService.getAllExpenses();
-        ApiResponse<List<ExpenseDTO>> response = new ApiResponse<>(
+    public ResponseEntity<ApiResponse<PageDTO<ExpenseDTO>>> getAllExpenses(
+            @RequestParam(required = false) ExpenseCategory category,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        PageDTO<ExpenseDTO> expenses = expenseService.getExpenses(category, from, to, cursor, limit);
+        ApiResponse<PageDTO<ExpenseDTO>> response = new ApiResponse<>(
             "success",
             "Expenses retrieved successfully",
             expenses
@@ -87,15 +99,43 @@ public class ExpenseController {
     
     @Operation(summary = "Get expenses by category")
     @GetMapping("/category/{category}")
-    public ResponseEntity<ApiResponse<List<ExpenseDTO>>> getExpensesByCategory(
-            @PathVariable ExpenseCategory category) {
-        List<ExpenseDTO> expenses = expenseService.getExpensesByCategory(category);
-        ApiResponse<List<ExpenseDTO>> response = new ApiResponse<>(
+    public ResponseEntity<ApiResponse<PageDTO<ExpenseDTO>>> getExpensesByCategory(
+            @PathVariable ExpenseCategory category,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        PageDTO<ExpenseDTO> expenses = expenseService.getExpenses(category, null, null, cursor, limit);
+        ApiResponse<PageDTO<ExpenseDTO>> response = new ApiResponse<>(
             "success",
             "Expenses retrieved successfully",
             expenses
         );
         return ResponseEntity.ok(response);
     }
+    
+    // e.g. GET /rollups/monthly?from=2024-01&to=2024-12 (defaults to the last twelve months)
+    @Operation(summary = "Get monthly spend per category from the pre-aggregated rollups")
+    @GetMapping("/rollups/monthly")
+    public ResponseEntity<ApiResponse<MonthlyExpenseRollupDTO>> getMonthlyRollups(
+            @RequestParam(required = false) YearMonth from,
+            @RequestParam(required = false) YearMonth to) {
+        MonthlyExpenseRollupDTO rollups = rollupService.getMonthly(from, to);
+        ApiResponse<MonthlyExpenseRollupDTO> response = new ApiResponse<>(
+            "success",
+            "Monthly expense rollups retrieved successfully",
+            rollups
+        );
+        return ResponseEntity.ok(response);
+    }
+    
+    @Operation(summary = "Rebuild the monthly rollups from all expenses (backfill)")
+    @PostMapping("/rollups/rebuild")
+    public ResponseEntity<ApiResponse<Integer>> rebuildMonthlyRollups() {
+        int rows = rollupService.rebuild();
+        ApiResponse<Integer> response = new ApiResponse<>(
+            "success",
+            "Monthly expense rollups rebuilt",
+            rows
+        );
+        return ResponseEntity.ok(response);
+    }
 }
-
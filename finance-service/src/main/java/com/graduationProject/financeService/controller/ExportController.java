@@ -0,0 +1,74 @@
+package com.graduationProject.financeService.controller;
+
+import com.graduationProject.financeService.enums.ExportFormat;
+import com.graduationProject.financeService.service.LedgerExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+
+// Full-ledger exports, written to the response row by row (chunked) instead of being built as one
+// ApiResponse. Runs on the request thread, so no async timeout applies to long exports.
+@RestController
+@RequestMapping("/api/v1/finance/export")
+@RequiredArgsConstructor
+@Tag(name = "Ledger Export", description = "Streaming NDJSON/CSV exports")
+@PreAuthorize("hasAuthority('Finance')")
+public class ExportController {
+
+    private final LedgerExportService exportService;
+
+    // e.g. GET /api/v1/finance/export/expenses?format=CSV&from=2024-01-01&to=2024-01-31
+    @Operation(summary = "Stream expenses as NDJSON or CSV")
+    @GetMapping("/expenses")
+    public void exportExpenses(
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            HttpServletResponse response) {
+        exportService.exportExpenses(format, from, to, () -> open(response, format, "expenses", from, to));
+    }
+
+    @Operation(summary = "Stream invoices as NDJSON or CSV")
+    @GetMapping("/invoices")
+    public void exportInvoices(
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            HttpServletResponse response) {
+        exportService.exportInvoices(format, from, to, () -> open(response, format, "invoices", from, to));
+    }
+
+    @Operation(summary = "Stream payrolls as NDJSON or CSV")
+    @GetMapping("/payrolls")
+    public void exportPayrolls(
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            HttpServletResponse response) {
+        exportService.exportPayrolls(format, from, to, () -> open(response, format, "payrolls", from, to));
+    }
+
+    // called by the service once the export has a slot; the headers are only set from here on
+    private static OutputStream open(HttpServletResponse response, ExportFormat format, String name,
+                                     LocalDate from, LocalDate to) {
+        String extension = format == ExportFormat.CSV ? "csv" : "ndjson";
+        response.setContentType(format == ExportFormat.CSV ? "text/csv;charset=UTF-8" : "application/x-ndjson;charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + name
+            + (from != null ? "-from-" + from : "") + (to != null ? "-to-" + to : "") + "." + extension + "\"");
+        try {
+            return response.getOutputStream();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -2,18 +2,20 @@ package com.graduationProject.financeService.controller;
 
 import com.graduationProject.financeService.dto.ApiResponse;
 import com.graduationProject.financeService.dto.InvoiceDTO;
+import com.graduationProject.financeService.dto.PageDTO;
 import com.graduationProject.financeService.enums.InvoiceStatus;
 import com.graduationProject.financeService.service.InvoiceService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.time.LocalDate;
 
 @RestController
 @RequestMapping("/api/v1/finance/invoices")
@@ -36,11 +38,17 @@ public class InvoiceController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
     
-    @Operation(summary = "Get all invoices")
+    // e.g. GET ?status=SENT&from=2024-01-01&limit=100, then pass data.nextCursor back as ?cursor= while data.hasMore
+    @Operation(summary = "Get invoices, newest first, one keyset page at a time")
     @GetMapping
-    public ResponseEntity<ApiResponse<List<InvoiceDTO>>> getAllInvoices() {
-        List<InvoiceDTO> invoices = invoiceService.getAllInvoices();
-        ApiResponse<List<InvoiceDTO>> response = new ApiResponse<>(
+    public ResponseEntity<ApiResponse<PageDTO<InvoiceDTO>>> getAllInvoices(
+            @RequestParam(required = false) InvoiceStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        PageDTO<InvoiceDTO> invoices = invoiceService.getInvoices(status, from, to, cursor, limit);
+        ApiResponse<PageDTO<InvoiceDTO>> response = new ApiResponse<>(
             "success",
             "Invoices retrieved successfully",
             invoices
@@ -87,10 +95,12 @@ public class InvoiceController {
     
     @Operation(summary = "Get invoices by status")
     @GetMapping("/status/{status}")
-    public ResponseEntity<ApiResponse<List<InvoiceDTO>>> getInvoicesByStatus(
-            @PathVariable InvoiceStatus status) {
-        List<InvoiceDTO> invoices = invoiceService.getInvoicesByStatus(status);
-        ApiResponse<List<InvoiceDTO>> response = new ApiResponse<>(
+    public ResponseEntity<ApiResponse<PageDTO<InvoiceDTO>>> getInvoicesByStatus(
+            @PathVariable InvoiceStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        PageDTO<InvoiceDTO> invoices = invoiceService.getInvoices(status, null, null, cursor, limit);
+        ApiResponse<PageDTO<InvoiceDTO>> response = new ApiResponse<>(
             "success",
             "Invoices retrieved successfully",
             invoices
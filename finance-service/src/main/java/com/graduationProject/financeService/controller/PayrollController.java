@@ -2,18 +2,20 @@ package com.graduationProject.financeService.controller;
 
 import com.graduationProject.financeService.dto.ApiResponse;
 import com.graduationProject.financeService.dto.PayrollDTO;
+import com.graduationProject.financeService.dto.PageDTO;
 import com.graduationProject.financeService.enums.PayrollStatus;
 import com.graduationProject.financeService.service.PayrollService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.time.LocalDate;
 
 @RestController
 @RequestMapping("/api/v1/finance/payrolls")
@@ -36,11 +38,17 @@ public class PayrollController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
     
-    @Operation(summary = "Get all payrolls")
+    // e.g. GET ?status=PENDING&from=2024-01-01&limit=100, then pass data.nextCursor back as ?cursor= while data.hasMore
+    @Operation(summary = "Get payrolls, newest first, one keyset page at a time")
     @GetMapping
-    public ResponseEntity<ApiResponse<List<PayrollDTO>>> getAllPayrolls() {
-        List<PayrollDTO> payrolls = payrollService.getAllPayrolls();
-        ApiResponse<List<PayrollDTO>> response = new ApiResponse<>(
+    public ResponseEntity<ApiResponse<PageDTO<PayrollDTO>>> getAllPayrolls(
+            @RequestParam(required = false) PayrollStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        PageDTO<PayrollDTO> payrolls = payrollService.getPayrolls(status, from, to, cursor, limit);
+        ApiResponse<PageDTO<PayrollDTO>> response = new ApiResponse<>(
             "success",
             "Payrolls retrieved successfully",
             payrolls
@@ -87,10 +95,12 @@ public class PayrollController {
     
     @Operation(summary = "Get payrolls by status")
     @GetMapping("/status/{status}")
-    public ResponseEntity<ApiResponse<List<PayrollDTO>>> getPayrollsByStatus(
-            @PathVariable PayrollStatus status) {
-        List<PayrollDTO> payrolls = payrollService.getPayrollsByStatus(status);
-        ApiResponse<List<PayrollDTO>> response = new ApiResponse<>(
+    public ResponseEntity<ApiResponse<PageDTO<PayrollDTO>>> getPayrollsByStatus(
+            @PathVariable PayrollStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        PageDTO<PayrollDTO> payrolls = payrollService.getPayrolls(status, null, null, cursor, limit);
+        ApiResponse<PageDTO<PayrollDTO>> response = new ApiResponse<>(
             "success",
             "Payrolls retrieved successfully",
             payrolls
@@ -0,0 +1,35 @@
+package com.graduationProject.financeService.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetReconciliationDTO {
+    private long checked;
+    private int drifted;
+    private int repaired;
+    // categories upper(trim())-ed by the one-time legacy cleanup
+    private int normalized;
+    // budgets whose category is not an ExpenseCategory, so no expense counts towards them
+    private int unknownCategory;
+    private List<Long> unknownCategoryBudgetIds;
+    // the first drifted budgets, running total vs full recompute
+    private List<Drift> drifts;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Drift {
+        private Long budgetId;
+        private BigDecimal spentAmount;
+        private BigDecimal actualAmount;
+    }
+}
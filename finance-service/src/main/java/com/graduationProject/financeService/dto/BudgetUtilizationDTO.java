@@ -0,0 +1,24 @@
+package com.graduationProject.financeService.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetUtilizationDTO {
+    private Long budgetId;
+    private String name;
+    private String category;
+    private BigDecimal allocatedAmount;
+    private BigDecimal spentAmount;
+    private BigDecimal remainingAmount;
+    // spent / allocated in percent, 2 decimals
+    private BigDecimal utilizationPercent;
+    private boolean overBudget;
+}
@@ -0,0 +1,33 @@
+package com.graduationProject.financeService.dto;
+
+import com.graduationProject.financeService.enums.ExpenseCategory;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlyExpenseRollupDTO {
+    // every month from..to, including months without expenses
+    private List<YearMonth> months;
+    // one series per category, each value aligned with months
+    private List<Series> series;
+    // all categories together, per month
+    private List<BigDecimal> totals;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Series {
+        private ExpenseCategory category;
+        private List<BigDecimal> amounts;
+        private List<Long> counts;
+    }
+}
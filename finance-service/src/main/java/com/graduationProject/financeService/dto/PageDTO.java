@@ -0,0 +1,19 @@
+package com.graduationProject.financeService.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageDTO<T> {
+    private List<T> items;
+    // opaque; pass back as ?cursor= to get the next page, null on the last page
+    private String nextCursor;
+    private boolean hasMore;
+}
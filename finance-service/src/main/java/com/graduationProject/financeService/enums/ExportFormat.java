@@ -0,0 +1,6 @@
+package com.graduationProject.financeService.enums;
+
+public enum ExportFormat {
+    NDJSON,
+    CSV
+}
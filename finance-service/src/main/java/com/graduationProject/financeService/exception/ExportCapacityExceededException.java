@@ -0,0 +1,15 @@
+package com.graduationProject.financeService.exception;
+
+public class ExportCapacityExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ExportCapacityExceededException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
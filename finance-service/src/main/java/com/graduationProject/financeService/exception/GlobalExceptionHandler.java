@@ -1,6 +1,7 @@
 package com.graduationProject.financeService.exception;
 
 import com.graduationProject.financeService.dto.ApiResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -23,6 +24,17 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
     }
     
+    @ExceptionHandler(ExportCapacityExceededException.class)
+    public ResponseEntity<ApiResponse<Object>> handleExportCapacityExceededException(ExportCapacityExceededException ex) {
+        ApiResponse<Object> response = new ApiResponse<>(
+            "error",
+            ex.getMessage()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+            .body(response);
+    }
+    
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<ApiResponse<Object>> handleRuntimeException(RuntimeException ex) {
         ApiResponse<Object> response = new ApiResponse<>(
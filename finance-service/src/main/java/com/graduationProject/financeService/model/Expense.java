@@ -11,6 +11,8 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
+// (filter, date, id) indexes back the keyset-paginated list endpoints
+// (shipped as DDL in db/schema/V1__list_indexes.sql)
 @Table(name = "expenses")
 @Data
 @Builder
@@ -0,0 +1,43 @@
+package com.graduationProject.financeService.model;
+
+import com.graduationProject.financeService.enums.ExpenseCategory;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Entity
+// One row per (year, month, category), upserted by ExpenseService on every expense write; the
+// unique key is the conflict target of ExpenseMonthlyRollupRepository.add. Shipped as DDL in
+// db/schema/V2__expense_monthly_rollups.sql
+@Table(name = "expense_monthly_rollups", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_expense_monthly_rollups_key", columnNames = {"year", "month", "category"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseMonthlyRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private int year;
+
+    @Column(nullable = false)
+    private int month;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ExpenseCategory category;
+
+    @Column(nullable = false)
+    private BigDecimal totalAmount;
+
+    @Column(nullable = false)
+    private long expenseCount;
+}
@@ -11,6 +11,9 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
+// (filter, date, id) indexes back the keyset-paginated list endpoints; (status, due_date, id)
+// lets OverdueInvoiceSweeper find past-due SENT invoices without scanning the table
+// (shipped as DDL in db/schema/V1__list_indexes.sql)
 @Table(name = "invoices")
 @Data
 @Builder
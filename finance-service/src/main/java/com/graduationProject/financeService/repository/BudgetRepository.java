@@ -2,14 +2,59 @@ package com.graduationProject.financeService.repository;
 
 import com.graduationProject.financeService.model.Budget;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface BudgetRepository extends JpaRepository<Budget, Long> {
+public interface BudgetRepository extends JpaRepository<Budget, Long>, JpaSpecificationExecutor<Budget> {
     List<Budget> findByCategory(String category);
     List<Budget> findByStartDateBetween(LocalDate start, LocalDate end);
-}
 
+    // Running totals: one set-based increment for every budget whose category and date window
+    // cover the expense. Concurrent writers serialize on the budget rows, nothing is read first.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Budget b set b.spentAmount = b.spentAmount + :delta "
+            + "where b.category = :category and b.startDate <= :date and b.endDate >= :date")
+    int addSpent(@Param("category") String category, @Param("date") LocalDate date, @Param("delta") BigDecimal delta);
+
+    interface SpentDrift {
+        Long getId();
+        BigDecimal getSpentAmount();
+        BigDecimal getActualAmount();
+    }
+
+    // Budgets whose running total disagrees with a full recompute over the expenses
+    @Query(value = "select b.id as \"id\", b.spent_amount as \"spentAmount\", coalesce(sum(e.amount), 0) as \"actualAmount\" "
+            + "from budgets b left join expenses e on e.category = b.category and e.expense_date between b.start_date and b.end_date "
+            + "group by b.id, b.spent_amount having b.spent_amount <> coalesce(sum(e.amount), 0) order by b.id",
+            nativeQuery = true)
+    List<SpentDrift> findSpentDrift();
+
+    @Modifying
+    @Query(value = "update budgets b set spent_amount = coalesce((select sum(e.amount) from expenses e "
+            + "where e.category = b.category and e.expense_date between b.start_date and b.end_date), 0) where b.id in (:ids)",
+            nativeQuery = true)
+    int recomputeSpent(@Param("ids") Collection<Long> ids);
+
+    // Held until the transaction ends; false while another replica runs the category backfill
+    @Query(value = "select pg_try_advisory_xact_lock(hashtext('budgets.category-backfill'))", nativeQuery = true)
+    boolean tryLockCategoryBackfill();
+
+    // Budgets created before categories were validated: free text, mixed case or padded
+    @Modifying
+    @Query(value = "update budgets set category = upper(trim(category)) where category <> upper(trim(category))",
+            nativeQuery = true)
+    int normalizeCategories();
+
+    // Budgets no expense can ever count towards, because their category is not an ExpenseCategory
+    @Query(value = "select id from budgets where category not in (:categories) order by id", nativeQuery = true)
+    List<Long> findIdsWithCategoryNotIn(@Param("categories") Collection<String> categories);
+}
@@ -0,0 +1,53 @@
+package com.graduationProject.financeService.repository;
+
+import com.graduationProject.financeService.model.ExpenseMonthlyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface ExpenseMonthlyRollupRepository extends JpaRepository<ExpenseMonthlyRollup, Long> {
+
+    // Adds a delta to one (year, month, category) bucket, creating it on first use. The upsert
+    // takes only that row's lock, so concurrent expense writes never read-modify-write a total.
+    @Modifying
+    @Query(value = "insert into expense_monthly_rollups (year, month, category, total_amount, expense_count) "
+            + "values (:year, :month, :category, :amount, :count) "
+            + "on conflict (year, month, category) do update set "
+            + "total_amount = expense_monthly_rollups.total_amount + excluded.total_amount, "
+            + "expense_count = expense_monthly_rollups.expense_count + excluded.expense_count",
+            nativeQuery = true)
+    int add(@Param("year") int year, @Param("month") int month, @Param("category") String category,
+            @Param("amount") BigDecimal amount, @Param("count") long count);
+
+    // months are compared as year * 12 + month (inclusive on both ends)
+    @Query("select r from ExpenseMonthlyRollup r where r.year * 12 + r.month between :from and :to "
+            + "order by r.year, r.month, r.category")
+    List<ExpenseMonthlyRollup> findByMonthRange(@Param("from") int from, @Param("to") int to);
+
+    // Rebuild: expense writers are blocked (SHARE mode) until the transaction ends, so the rows
+    // recomputed from the table and the upserts of in-flight writes cannot overlap or be lost
+    @Modifying
+    @Query(value = "lock table expenses in share mode", nativeQuery = true)
+    void lockExpenses();
+
+    // Held until the transaction ends; false while another replica holds it
+    @Query(value = "select pg_try_advisory_xact_lock(hashtext('expense_monthly_rollups'))", nativeQuery = true)
+    boolean tryLockBackfill();
+
+    @Modifying
+    @Query(value = "delete from expense_monthly_rollups", nativeQuery = true)
+    int deleteAllRows();
+
+    @Modifying(clearAutomatically = true)
+    @Query(value = "insert into expense_monthly_rollups (year, month, category, total_amount, expense_count) "
+            + "select extract(year from expense_date), extract(month from expense_date), category, sum(amount), count(*) "
+            + "from expenses group by 1, 2, 3",
+            nativeQuery = true)
+    int insertFromExpenses();
+}
@@ -2,16 +2,45 @@ package com.graduationProject.financeService.repository;
 
 import com.graduationProject.financeService.model.Expense;
 import com.graduationProject.financeService.enums.ExpenseCategory;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface ExpenseRepository extends JpaRepository<Expense, Long> {
+public interface ExpenseRepository extends JpaRepository<Expense, Long>, JpaSpecificationExecutor<Expense> {
     List<Expense> findByCategory(ExpenseCategory category);
     List<Expense> findByExpenseDateBetween(LocalDate start, LocalDate end);
     List<Expense> findByCreatedBy(String createdBy);
-}
 
+    // Row lock so the old category/date/amount used for the budget deltas cannot change underneath
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from Expense e where e.id = :id")
+    Optional<Expense> findByIdForUpdate(@Param("id") Long id);
+
+    // budgets hold the category as text, so this compares on the stored enum name
+    @Query(value = "select coalesce(sum(amount), 0) from expenses where category = :category and expense_date between :from and :to",
+            nativeQuery = true)
+    BigDecimal sumAmount(@Param("category") String category, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // Oldest first for exports. Must run in a transaction: with autocommit off and a fetch size
+    // the driver reads through a server-side cursor instead of buffering the whole result.
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select e from Expense e where e.expenseDate between :from and :to order by e.expenseDate, e.id")
+    Stream<Expense> streamByExpenseDateBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -2,18 +2,44 @@ package com.graduationProject.financeService.repository;
 
 import com.graduationProject.financeService.model.Invoice;
 import com.graduationProject.financeService.enums.InvoiceStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
+public interface InvoiceRepository extends JpaRepository<Invoice, Long>, JpaSpecificationExecutor<Invoice> {
     Optional<Invoice> findByInvoiceNumber(String invoiceNumber);
     List<Invoice> findByStatus(InvoiceStatus status);
     List<Invoice> findByClientEmail(String clientEmail);
     List<Invoice> findByDueDateBeforeAndStatus(LocalDate date, InvoiceStatus status);
-}
 
+    // Oldest first for exports. Must run in a transaction: with autocommit off and a fetch size
+    // the driver reads through a server-side cursor instead of buffering the whole result.
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select i from Invoice i where i.issueDate between :from and :to order by i.issueDate, i.id")
+    Stream<Invoice> streamByIssueDateBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // One chunk of the overdue sweep: up to :limit past-due SENT invoices become OVERDUE in a
+    // single statement. Oldest due first, read in (status, due_date, id) index order so a chunk
+    // never scans rows already swept. Rows locked by a concurrent edit are skipped until next run.
+    @Modifying
+    @Query(value = "update invoices set status = 'OVERDUE', updated_at = :today where id in ("
+            + "select id from invoices where status = 'SENT' and due_date < :today "
+            + "order by due_date, id limit :limit for update skip locked)",
+            nativeQuery = true)
+    int markOverdue(@Param("today") LocalDate today, @Param("limit") int limit);
+}
@@ -2,16 +2,31 @@ package com.graduationProject.financeService.repository;
 
 import com.graduationProject.financeService.model.Payroll;
 import com.graduationProject.financeService.enums.PayrollStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface PayrollRepository extends JpaRepository<Payroll, Long> {
+public interface PayrollRepository extends JpaRepository<Payroll, Long>, JpaSpecificationExecutor<Payroll> {
     List<Payroll> findByEmployeeId(Long employeeId);
     List<Payroll> findByStatus(PayrollStatus status);
     List<Payroll> findByPaymentDateBetween(LocalDate start, LocalDate end);
-}
 
+    // Oldest first for exports. Must run in a transaction: with autocommit off and a fetch size
+    // the driver reads through a server-side cursor instead of buffering the whole result.
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select p from Payroll p where p.paymentDate between :from and :to order by p.paymentDate, p.id")
+    Stream<Payroll> streamByPaymentDateBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
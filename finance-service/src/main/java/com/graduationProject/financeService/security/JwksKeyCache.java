@@ -0,0 +1,101 @@
+package com.graduationProject.financeService.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.math.BigInteger;
+import java.security.AlgorithmParameters;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+// In-memory verification keys by kid, fetched from the auth-service JWKS endpoint in the
+// background. Known kids never touch the network; an unknown kid fetches the JWKS on the calling
+// thread, at most once per MIN_REFRESH_GAP_MILLIS so made-up kids cannot hammer auth-service.
+@Slf4j
+@Component
+public class JwksKeyCache {
+
+    private static final long MIN_REFRESH_GAP_MILLIS = 5_000;
+
+    private final RestClient restClient;
+    private final String jwksUri;
+    private final AtomicLong lastRefreshAttempt = new AtomicLong();
+    // a lock rather than synchronized, so a waiting virtual thread does not pin its carrier
+    private final ReentrantLock missLock = new ReentrantLock();
+    private volatile Map<String, PublicKey> keys = Map.of();
+
+    public JwksKeyCache(@Value("${jwt.jwks-uri:http://authentication-service:8080/.well-known/jwks.json}") String jwksUri) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(2_000);
+        requestFactory.setReadTimeout(2_000);
+        this.restClient = RestClient.builder().requestFactory(requestFactory).build();
+        this.jwksUri = jwksUri;
+    }
+
+    public PublicKey get(String kid) {
+        PublicKey key = keys.get(kid);
+        return key != null ? key : refreshFor(kid);
+    }
+
+    void setKeys(Map<String, PublicKey> keys) {
+        this.keys = Map.copyOf(keys);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.jwks.refresh-interval:PT5M}")
+    public void refresh() {
+        lastRefreshAttempt.set(System.currentTimeMillis());
+        try {
+            Map<?, ?> body = restClient.get().uri(jwksUri).retrieve().body(Map.class);
+            Map<String, PublicKey> loaded = new HashMap<>();
+            if (body != null && body.get("keys") instanceof List<?> jwks) {
+                for (Object jwk : jwks) {
+                    if (jwk instanceof Map<?, ?> entry && "EC".equals(entry.get("kty")) && "P-256".equals(entry.get("crv"))) {
+                        loaded.put((String) entry.get("kid"), toPublicKey((String) entry.get("x"), (String) entry.get("y")));
+                    }
+                }
+            }
+            keys = Map.copyOf(loaded);
+        } catch (Exception e) {
+            // keep serving the keys we already have
+            log.warn("Could not refresh JWKS from {}: {}", jwksUri, e.getMessage());
+        }
+    }
+
+    // Requests that miss together wait for one fetch instead of failing while it runs
+    private PublicKey refreshFor(String kid) {
+        missLock.lock();
+        try {
+            PublicKey key = keys.get(kid);
+            if (key == null && System.currentTimeMillis() - lastRefreshAttempt.get() >= MIN_REFRESH_GAP_MILLIS) {
+                refresh();
+                key = keys.get(kid);
+            }
+            return key;
+        } finally {
+            missLock.unlock();
+        }
+    }
+
+    private static PublicKey toPublicKey(String x, String y) throws Exception {
+        Base64.Decoder decoder = Base64.getUrlDecoder();
+        ECPoint point = new ECPoint(new BigInteger(1, decoder.decode(x)), new BigInteger(1, decoder.decode(y)));
+        AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+        parameters.init(new ECGenParameterSpec("secp256r1"));
+        ECParameterSpec spec = parameters.getParameterSpec(ECParameterSpec.class);
+        return KeyFactory.getInstance("EC").generatePublic(new ECPublicKeySpec(point, spec));
+    }
+}
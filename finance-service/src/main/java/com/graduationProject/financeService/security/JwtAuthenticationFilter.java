@@ -5,63 +5,42 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.List;
 
+// Runs on every request. The success path for a token seen before allocates nothing: the token
+// is read in place from the header and the cached Authentication is reused (see
+// AuthenticationCache); failures just leave the context empty.
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
-    private final JwtUtils jwtUtils;
+    private final AuthenticationCache authenticationCache;
     
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
                                    HttpServletResponse response, 
                                    FilterChain filterChain) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
-        final String jwt;
-        final String userEmail;
         
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+        if (authHeader == null || !authHeader.startsWith(AuthenticationCache.BEARER_PREFIX)) {
             filterChain.doFilter(request, response);
             return;
         }
         
-        jwt = authHeader.substring(7);
-        
-        try {
-            userEmail = jwtUtils.extractUserName(jwt);
-            String role = jwtUtils.extractRole(jwt);
-            
-            if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                // Validate token
-                if (jwtUtils.isTokenValid(jwt)) {
-                    // Create authorities from role
-                    List<SimpleGrantedAuthority> authorities = List.of(
-                        new SimpleGrantedAuthority(role != null ? role : "USER")
-                    );
-                    
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userEmail,
-                        null,
-                        authorities
-                    );
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                }
+        SecurityContext context = SecurityContextHolder.getContext();
+        if (context.getAuthentication() == null) {
+            Authentication authentication = authenticationCache.get(authHeader);
+            if (authentication != null) {
+                context.setAuthentication(authentication);
             }
-        } catch (Exception e) {
-            // Token is invalid, continue without authentication
         }
         
         filterChain.doFilter(request, response);
     }
 }
-
@@ -1,22 +1,86 @@
 package com.graduationProject.financeService.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
-import org.springframework.beans.factory.annotation.Value;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import java.security.Key;
+import java.time.Instant;
 import java.util.Date;
+import java.util.Optional;
 import java.util.function.Function;
 
 @Service
 public class JwtUtils {
+
+    private static final String ISSUED_AT_MILLIS = "iat_ms";
+    
+    private final JwksKeyCache jwksKeyCache;
+    private final LegacyHs256Window legacyHs256;
+    private final JwtParser parser;
+    
+    public JwtUtils(JwksKeyCache jwksKeyCache, LegacyHs256Window legacyHs256) {
+        this.jwksKeyCache = jwksKeyCache;
+        this.legacyHs256 = legacyHs256;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return resolveKey(header, claims);
+                    }
+                })
+                .build();
+    }
+    
+    private Key resolveKey(JwsHeader<?> header, Claims claims) {
+        if (SignatureAlgorithm.HS256.getValue().equals(header.getAlgorithm())) {
+            Key legacyKey = legacyHs256.keyFor(claims);
+            if (legacyKey == null) {
+                throw new UnsupportedJwtException("HS256 tokens are not accepted");
+            }
+            return legacyKey;
+        }
+        Key key = header.getKeyId() != null ? jwksKeyCache.get(header.getKeyId()) : null;
+        if (key == null) {
+            throw new UnsupportedJwtException("Unknown signing key id");
+        }
+        return key;
+    }
     
-    @Value("${jwt.secret}")
-    private String SECRET_KEY;
+    // Single parse: checks signature and expiry and returns the claims the filter needs
+    public Optional<VerifiedToken> verify(String token) {
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            Date expiration = claims.getExpiration();
+            return Optional.of(new VerifiedToken(
+                claims.getSubject(),
+                claims.get("id", Long.class),
+                claims.get("role", String.class),
+                issuedAt(claims),
+                expiration != null ? expiration.toInstant() : null
+            ));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    // iat_ms carries the exact issue time for the revocation check; tokens without it only have
+    // whole seconds in iat, so they count as issued at the end of that second
+    private static Instant issuedAt(Claims claims) {
+        Long millis = claims.get(ISSUED_AT_MILLIS, Long.class);
+        if (millis != null) {
+            return Instant.ofEpochMilli(millis);
+        }
+        Date issuedAt = claims.getIssuedAt();
+        return issuedAt != null ? issuedAt.toInstant().plusMillis(999) : null;
+    }
     
     public String extractUserName(String token) {
         try {
@@ -26,11 +90,6 @@ public class JwtUtils {
         }
     }
     
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(SECRET_KEY);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-    
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
         try {
             final Claims claims = extractAllClaims(token);
@@ -83,11 +142,7 @@ public class JwtUtils {
     
     private Claims extractAllClaims(String token) {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(getSignInKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            return parser.parseClaimsJws(token).getBody();
         } catch (Exception e) {
             throw new RuntimeException("Error parsing token: " + e.getMessage());
         }
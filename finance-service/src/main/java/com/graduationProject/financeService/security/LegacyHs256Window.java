@@ -0,0 +1,65 @@
+package com.graduationProject.financeService.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.Key;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+// HS256 tokens signed with the shared secret from before auth-service moved to ES256. Off by default; when
+// turned on, a token is only accepted if it was issued before the cutover and expires no later than
+// cutover + 7 days, so the window closes by itself. Delete this class once that date has passed.
+@Slf4j
+@Component
+public class LegacyHs256Window {
+
+    static final Duration MAX_LIFETIME = Duration.ofDays(7);
+
+    private final Key key;
+    private final Instant cutover;
+
+    public LegacyHs256Window(@Value("${jwt.accept-legacy-hs256:false}") boolean enabled,
+                             @Value("${jwt.secret:}") String secret,
+                             @Value("${jwt.legacy-hs256.cutover:}") String cutover) {
+        if (!enabled) {
+            this.key = null;
+            this.cutover = null;
+            return;
+        }
+        if (secret.isBlank() || cutover.isBlank()) {
+            throw new IllegalStateException(
+                    "jwt.accept-legacy-hs256 needs jwt.secret (JWT_SECRET) and jwt.legacy-hs256.cutover (an ISO-8601 instant)");
+        }
+        this.key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret.trim()));
+        this.cutover = Instant.parse(cutover.trim());
+        if (Instant.now().isAfter(this.cutover.plus(MAX_LIFETIME))) {
+            log.warn("The legacy HS256 window closed at {}; turn jwt.accept-legacy-hs256 off", this.cutover.plus(MAX_LIFETIME));
+        }
+    }
+
+    public static LegacyHs256Window disabled() {
+        return new LegacyHs256Window(false, "", "");
+    }
+
+    // The claims are not verified yet; the signature check with the returned key follows.
+    // Null when the window is off or the token falls outside it.
+    public Key keyFor(Claims claims) {
+        if (key == null) {
+            return null;
+        }
+        Date issuedAt = claims.getIssuedAt();
+        Date expiration = claims.getExpiration();
+        if (issuedAt == null || expiration == null
+                || !issuedAt.toInstant().isBefore(cutover)
+                || expiration.toInstant().isAfter(cutover.plus(MAX_LIFETIME))) {
+            return null;
+        }
+        return key;
+    }
+}
@@ -25,6 +25,10 @@ public class SecurityConfiguration {
             .authorizeHttpRequests(authorizeRequest ->
                 authorizeRequest
                     .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html", "/swagger-ui/index.html").permitAll()
+                    .requestMatchers("/actuator/health/**").permitAll()
+                    // scraped over the internal network; nginx does not expose it
+                    .requestMatchers("/actuator/prometheus").permitAll()
+                    .requestMatchers("/actuator/dbpool/**", "/actuator/dbpool").hasAuthority("ADMIN")
                     .anyRequest().authenticated()
             )
             .sessionManagement(session -> session
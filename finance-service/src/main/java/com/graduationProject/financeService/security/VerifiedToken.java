@@ -0,0 +1,7 @@
+package com.graduationProject.financeService.security;
+
+import java.time.Instant;
+
+// Claims of a token whose signature and expiry have already been checked
+public record VerifiedToken(String subject, Long id, String role, Instant issuedAt, Instant expiresAt) {
+}
@@ -0,0 +1,35 @@
+package com.graduationProject.financeService.service;
+
+import com.graduationProject.financeService.dto.BudgetReconciliationDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// Brings budgets created before category validation and running totals in line at startup (see
+// BudgetService.normalizeLegacyCategories). After the first run it is a single update that
+// changes nothing; switch it off with finance.budget.category-backfill.enabled=false.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "finance.budget.category-backfill.enabled", havingValue = "true", matchIfMissing = true)
+public class BudgetCategoryBackfill implements ApplicationRunner {
+
+    private final BudgetService budgetService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        BudgetReconciliationDTO result = budgetService.normalizeLegacyCategories();
+        if (result.getNormalized() == 0 && result.getRepaired() == 0 && result.getUnknownCategory() == 0) {
+            return;
+        }
+        log.info("Budget backfill: {} categories normalized, {} spent totals recomputed",
+            result.getNormalized(), result.getRepaired());
+        if (result.getUnknownCategory() > 0) {
+            log.warn("{} budgets have a category that is not an expense category and will never accumulate spending: {}",
+                result.getUnknownCategory(), result.getUnknownCategoryBudgetIds());
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.graduationProject.financeService.service;
+
+import com.graduationProject.financeService.dto.BudgetReconciliationDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Periodic safety net for the Budget.spentAmount running totals (see BudgetService.reconcile).
+// Drift should stay at zero; a non-zero finance.budget.reconciliation.drifted means some write
+// path bypassed ExpenseService or raced a budget's creation.
+@Slf4j
+@Component
+public class BudgetReconciliationJob {
+
+    private final BudgetService budgetService;
+    private final boolean repair;
+    private final Counter drifted;
+    private final Counter repaired;
+
+    public BudgetReconciliationJob(BudgetService budgetService,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${finance.budget.reconciliation.repair:true}") boolean repair) {
+        this.budgetService = budgetService;
+        this.repair = repair;
+        this.drifted = Counter.builder("finance.budget.reconciliation.drifted")
+            .description("Budgets whose running spent total disagreed with a full recompute")
+            .register(meterRegistry);
+        this.repaired = Counter.builder("finance.budget.reconciliation.repaired")
+            .description("Budgets whose spent total was recomputed by the reconciliation job")
+            .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${finance.budget.reconciliation.cron:0 30 2 * * *}")
+    public void reconcile() {
+        BudgetReconciliationDTO result = budgetService.reconcile(repair);
+        drifted.increment(result.getDrifted());
+        repaired.increment(result.getRepaired());
+        if (result.getUnknownCategory() > 0) {
+            log.warn("{} budgets have a category that is not an expense category: {}",
+                result.getUnknownCategory(), result.getUnknownCategoryBudgetIds());
+        }
+        if (result.getDrifted() == 0) {
+            log.info("Budget reconciliation: {} budgets checked, no drift", result.getChecked());
+            return;
+        }
+        for (BudgetReconciliationDTO.Drift drift : result.getDrifts()) {
+            log.warn("Budget {} spent total {} differs from recomputed {}",
+                drift.getBudgetId(), drift.getSpentAmount(), drift.getActualAmount());
+        }
+        log.warn("Budget reconciliation: {} of {} budgets drifted, {} repaired",
+            result.getDrifted(), result.getChecked(), result.getRepaired());
+    }
+}
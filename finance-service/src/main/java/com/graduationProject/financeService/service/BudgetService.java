@@ -1,31 +1,52 @@
 package com.graduationProject.financeService.service;
 
 import com.graduationProject.financeService.dto.BudgetDTO;
+import com.graduationProject.financeService.dto.BudgetReconciliationDTO;
+import com.graduationProject.financeService.dto.BudgetUtilizationDTO;
+import com.graduationProject.financeService.dto.PageDTO;
+import com.graduationProject.financeService.enums.ExpenseCategory;
 import com.graduationProject.financeService.exception.ResourceNotFoundException;
 import com.graduationProject.financeService.model.Budget;
 import com.graduationProject.financeService.repository.BudgetRepository;
+import com.graduationProject.financeService.repository.ExpenseRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Locale;
 
 @Service
 @RequiredArgsConstructor
 public class BudgetService {
 
+    private static final int MAX_REPORTED_DRIFTS = 100;
+    private static final int RECOMPUTE_CHUNK_SIZE = 1000;
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+    private static final List<String> CATEGORY_NAMES = Arrays.stream(ExpenseCategory.values()).map(Enum::name).toList();
+
     private final BudgetRepository budgetRepository;
+    private final ExpenseRepository expenseRepository;
+    private final PlatformTransactionManager transactionManager;
 
+    // spentAmount starts from the expenses already in the window; ExpenseService keeps it current
+    // from then on. The category must name an ExpenseCategory, which is what expenses are matched on.
     @Transactional
     public BudgetDTO createBudget(BudgetDTO dto) {
+        String category = validCategory(dto.getCategory());
         Budget budget = Budget.builder()
                 .name(dto.getName())
-                .category(dto.getCategory())
+                .category(category)
                 .allocatedAmount(dto.getAllocatedAmount())
-                .spentAmount(BigDecimal.ZERO)
+                .spentAmount(expenseRepository.sumAmount(category, dto.getStartDate(), dto.getEndDate()))
                 .period(dto.getPeriod())
                 .startDate(dto.getStartDate())
                 .endDate(dto.getEndDate())
@@ -36,10 +57,18 @@ public class BudgetService {
         return toDTO(budgetRepository.save(budget));
     }
 
-    public List<BudgetDTO> getAllBudgets() {
-        return budgetRepository.findAll().stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+    // Newest first by (startDate, id), one keyset page at a time; see Keyset
+    @Transactional(readOnly = true)
+    public PageDTO<BudgetDTO> getBudgets(String category, LocalDate from, LocalDate to, String cursor, int limit) {
+        int pageSize = Keyset.pageSize(limit);
+        Specification<Budget> spec = Specification.allOf(
+                Keyset.equal("category", normalizeCategory(category)),
+                Keyset.between("startDate", from, to),
+                Keyset.after("startDate", cursor)
+        );
+        Sort sort = Keyset.sort("startDate");
+        List<Budget> rows = budgetRepository.findBy(spec, query -> query.sortBy(sort).limit(pageSize + 1).all());
+        return Keyset.page(rows, pageSize, Budget::getStartDate, Budget::getId, this::toDTO);
     }
 
     public BudgetDTO getBudgetById(Long id) {
@@ -53,8 +82,13 @@ public class BudgetService {
         Budget budget = budgetRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Budget not found with id: " + id));
 
+        String category = validCategory(dto.getCategory());
+        if (!category.equals(budget.getCategory()) || !dto.getStartDate().equals(budget.getStartDate())
+                || !dto.getEndDate().equals(budget.getEndDate())) {
+            budget.setSpentAmount(expenseRepository.sumAmount(category, dto.getStartDate(), dto.getEndDate()));
+        }
         budget.setName(dto.getName());
-        budget.setCategory(dto.getCategory());
+        budget.setCategory(category);
         budget.setAllocatedAmount(dto.getAllocatedAmount());
         budget.setPeriod(dto.getPeriod());
         budget.setStartDate(dto.getStartDate());
@@ -73,6 +107,87 @@ public class BudgetService {
         budgetRepository.deleteById(id);
     }
 
+    // A single primary-key read: spentAmount is a running total, no expenses are scanned
+    @Transactional(readOnly = true)
+    public BudgetUtilizationDTO getUtilization(Long id) {
+        Budget budget = budgetRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Budget not found with id: " + id));
+        BigDecimal allocated = budget.getAllocatedAmount();
+        BigDecimal spent = budget.getSpentAmount();
+        return BudgetUtilizationDTO.builder()
+                .budgetId(budget.getId())
+                .name(budget.getName())
+                .category(budget.getCategory())
+                .allocatedAmount(allocated)
+                .spentAmount(spent)
+                .remainingAmount(allocated.subtract(spent))
+                .utilizationPercent(allocated.signum() == 0
+                        ? BigDecimal.ZERO
+                        : spent.multiply(HUNDRED).divide(allocated, 2, RoundingMode.HALF_UP))
+                .overBudget(spent.compareTo(allocated) > 0)
+                .build();
+    }
+
+    // Checks every running total against a full recompute over the expenses. With repair, the
+    // drifted budgets are recomputed by a single UPDATE per chunk, each in its own transaction so
+    // a chunk's row locks are released before the next starts; this is safe to run while expenses
+    // are being written (their deltas serialize on the same rows).
+    public BudgetReconciliationDTO reconcile(boolean repair) {
+        List<BudgetRepository.SpentDrift> drifts = budgetRepository.findSpentDrift();
+        int repaired = 0;
+        if (repair) {
+            TransactionTemplate chunkTransaction = new TransactionTemplate(transactionManager);
+            List<Long> ids = drifts.stream().map(BudgetRepository.SpentDrift::getId).toList();
+            for (int from = 0; from < ids.size(); from += RECOMPUTE_CHUNK_SIZE) {
+                List<Long> chunk = ids.subList(from, Math.min(from + RECOMPUTE_CHUNK_SIZE, ids.size()));
+                Integer rows = chunkTransaction.execute(status -> budgetRepository.recomputeSpent(chunk));
+                repaired += rows != null ? rows : 0;
+            }
+        }
+        List<Long> unknownCategory = budgetRepository.findIdsWithCategoryNotIn(CATEGORY_NAMES);
+        return BudgetReconciliationDTO.builder()
+                .checked(budgetRepository.count())
+                .drifted(drifts.size())
+                .repaired(repaired)
+                .unknownCategory(unknownCategory.size())
+                .unknownCategoryBudgetIds(unknownCategory.stream().limit(MAX_REPORTED_DRIFTS).toList())
+                .drifts(drifts.stream()
+                        .limit(MAX_REPORTED_DRIFTS)
+                        .map(drift -> new BudgetReconciliationDTO.Drift(drift.getId(), drift.getSpentAmount(), drift.getActualAmount()))
+                        .toList())
+                .build();
+    }
+
+    // One-time cleanup for budgets written before categories were validated: upper(trim()) the
+    // stored categories so they match the expense names, then bring every total in line. One
+    // replica does it (advisory lock); once no category needs changing the full reconcile is
+    // skipped and only an empty result comes back, since the nightly job covers any other drift.
+    public BudgetReconciliationDTO normalizeLegacyCategories() {
+        Integer normalized = new TransactionTemplate(transactionManager).execute(status ->
+                budgetRepository.tryLockCategoryBackfill() ? budgetRepository.normalizeCategories() : 0);
+        if (normalized == null || normalized == 0) {
+            return BudgetReconciliationDTO.builder()
+                    .unknownCategoryBudgetIds(List.of())
+                    .drifts(List.of())
+                    .build();
+        }
+        BudgetReconciliationDTO result = reconcile(true);
+        result.setNormalized(normalized);
+        return result;
+    }
+
+    private static String normalizeCategory(String category) {
+        return category != null ? category.trim().toUpperCase(Locale.ROOT) : null;
+    }
+
+    private static String validCategory(String category) {
+        String normalized = normalizeCategory(category);
+        if (normalized == null || !CATEGORY_NAMES.contains(normalized)) {
+            throw new IllegalArgumentException("Budget category must be one of " + CATEGORY_NAMES);
+        }
+        return normalized;
+    }
+
     private BudgetDTO toDTO(Budget budget) {
         return BudgetDTO.builder()
                 .id(budget.getId())
@@ -0,0 +1,28 @@
+package com.graduationProject.financeService.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// Fills expense_monthly_rollups from the existing expenses when the table is still empty, so the
+// dashboard does not show zeros until someone calls POST /rollups/rebuild. Once the table has rows
+// this is a single count at startup.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "finance.expenses.rollup-backfill.enabled", havingValue = "true", matchIfMissing = true)
+public class ExpenseRollupBackfill implements ApplicationRunner {
+
+    private final ExpenseRollupService rollupService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int rows = rollupService.rebuildIfEmpty();
+        if (rows >= 0) {
+            log.info("Expense rollup backfill: {} monthly rollups built from existing expenses", rows);
+        }
+    }
+}
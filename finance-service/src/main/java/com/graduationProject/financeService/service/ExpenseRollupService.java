@@ -0,0 +1,100 @@
+package com.graduationProject.financeService.service;
+
+import com.graduationProject.financeService.dto.MonthlyExpenseRollupDTO;
+import com.graduationProject.financeService.enums.ExpenseCategory;
+import com.graduationProject.financeService.model.ExpenseMonthlyRollup;
+import com.graduationProject.financeService.repository.ExpenseMonthlyRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Dashboard series of spend per category and month, read from expense_monthly_rollups (kept by
+// ExpenseService) so the cost depends on months x categories, not on the number of expenses.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExpenseRollupService {
+
+    private static final int MAX_MONTHS = 120;
+
+    private final ExpenseMonthlyRollupRepository rollupRepository;
+
+    // Defaults to the twelve months up to and including the current one
+    @Transactional(readOnly = true)
+    public MonthlyExpenseRollupDTO getMonthly(YearMonth from, YearMonth to) {
+        YearMonth last = to != null ? to : YearMonth.now();
+        YearMonth first = from != null ? from : last.minusMonths(11);
+        int size = index(last) - index(first) + 1;
+        if (size < 1) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        if (size > MAX_MONTHS) {
+            throw new IllegalArgumentException("At most " + MAX_MONTHS + " months can be requested at once");
+        }
+
+        List<YearMonth> months = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            months.add(first.plusMonths(i));
+        }
+        ExpenseCategory[] categories = ExpenseCategory.values();
+        List<List<BigDecimal>> amounts = new ArrayList<>(categories.length);
+        List<List<Long>> counts = new ArrayList<>(categories.length);
+        for (int c = 0; c < categories.length; c++) {
+            amounts.add(new ArrayList<>(Collections.nCopies(size, BigDecimal.ZERO)));
+            counts.add(new ArrayList<>(Collections.nCopies(size, 0L)));
+        }
+        List<BigDecimal> totals = new ArrayList<>(Collections.nCopies(size, BigDecimal.ZERO));
+
+        for (ExpenseMonthlyRollup rollup : rollupRepository.findByMonthRange(index(first), index(last))) {
+            int month = rollup.getYear() * 12 + rollup.getMonth() - index(first);
+            int category = rollup.getCategory().ordinal();
+            amounts.get(category).set(month, rollup.getTotalAmount());
+            counts.get(category).set(month, rollup.getExpenseCount());
+            totals.set(month, totals.get(month).add(rollup.getTotalAmount()));
+        }
+
+        List<MonthlyExpenseRollupDTO.Series> series = new ArrayList<>(categories.length);
+        for (ExpenseCategory category : categories) {
+            series.add(new MonthlyExpenseRollupDTO.Series(category,
+                    amounts.get(category.ordinal()), counts.get(category.ordinal())));
+        }
+        return MonthlyExpenseRollupDTO.builder()
+                .months(months)
+                .series(series)
+                .totals(totals)
+                .build();
+    }
+
+    // Backfill or repair: recomputes every bucket from the expenses table in one transaction.
+    // Expense writes wait for it (see ExpenseMonthlyRollupRepository.lockExpenses).
+    @Transactional
+    public int rebuild() {
+        long started = System.nanoTime();
+        rollupRepository.lockExpenses();
+        rollupRepository.deleteAllRows();
+        int rows = rollupRepository.insertFromExpenses();
+        log.info("Rebuilt {} monthly expense rollups in {} ms", rows, (System.nanoTime() - started) / 1_000_000);
+        return rows;
+    }
+
+    // First start with the rollup table: fill it once. Returns -1 when the table already has rows
+    // or another replica is doing it.
+    @Transactional
+    public int rebuildIfEmpty() {
+        if (!rollupRepository.tryLockBackfill() || rollupRepository.count() > 0) {
+            return -1;
+        }
+        return rebuild();
+    }
+
+    private static int index(YearMonth month) {
+        return month.getYear() * 12 + month.getMonthValue();
+    }
+}
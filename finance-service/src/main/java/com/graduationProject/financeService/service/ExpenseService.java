@@ -1,24 +1,31 @@
 package com.graduationProject.financeService.service;
 
 import com.graduationProject.financeService.dto.ExpenseDTO;
+import com.graduationProject.financeService.dto.PageDTO;
 import com.graduationProject.financeService.enums.ExpenseCategory;
 import com.graduationProject.financeService.exception.ResourceNotFoundException;
 import com.graduationProject.financeService.model.Expense;
+import com.graduationProject.financeService.repository.BudgetRepository;
+import com.graduationProject.financeService.repository.ExpenseMonthlyRollupRepository;
 import com.graduationProject.financeService.repository.ExpenseRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ExpenseService {
     
     private final ExpenseRepository expenseRepository;
+    private final BudgetRepository budgetRepository;
+    private final ExpenseMonthlyRollupRepository rollupRepository;
     
     @Transactional
     public ExpenseDTO createExpense(ExpenseDTO dto) {
@@ -34,13 +41,23 @@ public class ExpenseService {
             .createdAt(LocalDate.now())
             .build();
         
-        return toDTO(expenseRepository.save(expense));
+        Expense saved = expenseRepository.save(expense);
+        applyDelta(saved.getCategory(), saved.getExpenseDate(), saved.getAmount(), 1);
+        return toDTO(saved);
     }
     
-    public List<ExpenseDTO> getAllExpenses() {
-        return expenseRepository.findAll().stream()
-            .map(this::toDTO)
-            .collect(Collectors.toList());
+    // Newest first by (expenseDate, id), one keyset page at a time; see Keyset
+    @Transactional(readOnly = true)
+    public PageDTO<ExpenseDTO> getExpenses(ExpenseCategory category, LocalDate from, LocalDate to, String cursor, int limit) {
+        int pageSize = Keyset.pageSize(limit);
+        Specification<Expense> spec = Specification.allOf(
+            Keyset.equal("category", category),
+            Keyset.between("expenseDate", from, to),
+            Keyset.after("expenseDate", cursor)
+        );
+        Sort sort = Keyset.sort("expenseDate");
+        List<Expense> rows = expenseRepository.findBy(spec, query -> query.sortBy(sort).limit(pageSize + 1).all());
+        return Keyset.page(rows, pageSize, Expense::getExpenseDate, Expense::getId, this::toDTO);
     }
     
     public ExpenseDTO getExpenseById(Long id) {
@@ -51,8 +68,11 @@ public class ExpenseService {
     
     @Transactional
     public ExpenseDTO updateExpense(Long id, ExpenseDTO dto) {
-        Expense expense = expenseRepository.findById(id)
+        Expense expense = expenseRepository.findByIdForUpdate(id)
             .orElseThrow(() -> new ResourceNotFoundException("Expense not found with id: " + id));
+        ExpenseCategory oldCategory = expense.getCategory();
+        LocalDate oldDate = expense.getExpenseDate();
+        BigDecimal oldAmount = expense.getAmount();
         
         expense.setTitle(dto.getTitle());
         expense.setCategory(dto.getCategory());
@@ -61,21 +81,39 @@ public class ExpenseService {
         expense.setDescription(dto.getDescription());
         expense.setUpdatedAt(LocalDate.now());
         
-        return toDTO(expenseRepository.save(expense));
+        Expense saved = expenseRepository.save(expense);
+        if (oldCategory != saved.getCategory() || !oldDate.equals(saved.getExpenseDate())
+                || oldAmount.compareTo(saved.getAmount()) != 0) {
+            // reversal and re-application in (date, category) order, so two updates moving
+            // expenses between the same buckets in opposite directions lock rows in one order
+            boolean reverseFirst = oldDate.isBefore(saved.getExpenseDate()) || (oldDate.equals(saved.getExpenseDate())
+                    && oldCategory.compareTo(saved.getCategory()) <= 0);
+            if (reverseFirst) {
+                applyDelta(oldCategory, oldDate, oldAmount.negate(), -1);
+            }
+            applyDelta(saved.getCategory(), saved.getExpenseDate(), saved.getAmount(), 1);
+            if (!reverseFirst) {
+                applyDelta(oldCategory, oldDate, oldAmount.negate(), -1);
+            }
+        }
+        return toDTO(saved);
     }
     
     @Transactional
     public void deleteExpense(Long id) {
-        if (!expenseRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Expense not found with id: " + id);
-        }
-        expenseRepository.deleteById(id);
+        Expense expense = expenseRepository.findByIdForUpdate(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Expense not found with id: " + id));
+        expenseRepository.delete(expense);
+        applyDelta(expense.getCategory(), expense.getExpenseDate(), expense.getAmount().negate(), -1);
     }
     
-    public List<ExpenseDTO> getExpensesByCategory(ExpenseCategory category) {
-        return expenseRepository.findByCategory(category).stream()
-            .map(this::toDTO)
-            .collect(Collectors.toList());
+    // Keeps Budget.spentAmount and the monthly rollups current in the expense's own transaction
+    // (see BudgetRepository.addSpent and ExpenseMonthlyRollupRepository.add)
+    private void applyDelta(ExpenseCategory category, LocalDate date, BigDecimal amount, int count) {
+        if (amount.signum() != 0) {
+            budgetRepository.addSpent(category.name(), date, amount);
+        }
+        rollupRepository.add(date.getYear(), date.getMonthValue(), category.name(), amount, count);
     }
     
     private ExpenseDTO toDTO(Expense expense) {
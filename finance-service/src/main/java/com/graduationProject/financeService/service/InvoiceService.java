@@ -1,17 +1,19 @@
 package com.graduationProject.financeService.service;
 
 import com.graduationProject.financeService.dto.InvoiceDTO;
+import com.graduationProject.financeService.dto.PageDTO;
 import com.graduationProject.financeService.enums.InvoiceStatus;
 import com.graduationProject.financeService.exception.ResourceNotFoundException;
 import com.graduationProject.financeService.model.Invoice;
 import com.graduationProject.financeService.repository.InvoiceRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -42,10 +44,18 @@ public class InvoiceService {
         return toDTO(invoiceRepository.save(invoice));
     }
     
-    public List<InvoiceDTO> getAllInvoices() {
-        return invoiceRepository.findAll().stream()
-            .map(this::toDTO)
-            .collect(Collectors.toList());
+    // Newest first by (issueDate, id), one keyset page at a time; see Keyset
+    @Transactional(readOnly = true)
+    public PageDTO<InvoiceDTO> getInvoices(InvoiceStatus status, LocalDate from, LocalDate to, String cursor, int limit) {
+        int pageSize = Keyset.pageSize(limit);
+        Specification<Invoice> spec = Specification.allOf(
+            Keyset.equal("status", status),
+            Keyset.between("issueDate", from, to),
+            Keyset.after("issueDate", cursor)
+        );
+        Sort sort = Keyset.sort("issueDate");
+        List<Invoice> rows = invoiceRepository.findBy(spec, query -> query.sortBy(sort).limit(pageSize + 1).all());
+        return Keyset.page(rows, pageSize, Invoice::getIssueDate, Invoice::getId, this::toDTO);
     }
     
     public InvoiceDTO getInvoiceById(Long id) {
@@ -81,12 +91,6 @@ public class InvoiceService {
         invoiceRepository.deleteById(id);
     }
     
-    public List<InvoiceDTO> getInvoicesByStatus(InvoiceStatus status) {
-        return invoiceRepository.findByStatus(status).stream()
-            .map(this::toDTO)
-            .collect(Collectors.toList());
-    }
-    
     private InvoiceDTO toDTO(Invoice invoice) {
         return InvoiceDTO.builder()
             .id(invoice.getId())
@@ -0,0 +1,99 @@
+package com.graduationProject.financeService.service;
+
+import com.graduationProject.financeService.dto.PageDTO;
+import com.graduationProject.financeService.exception.InvalidCursorException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+// Keyset pagination shared by the finance list endpoints. Rows are ordered by (date desc, id desc)
+// and each page continues strictly after the last row of the previous one, so a page is an index
+// range scan on (date, id) or (filter, date, id) however deep the client pages, instead of
+// an OFFSET that reads and discards every earlier row.
+final class Keyset {
+
+    static final int MAX_PAGE_SIZE = 500;
+
+    private Keyset() {
+    }
+
+    static int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    static Sort sort(String dateField) {
+        return Sort.by(Sort.Direction.DESC, dateField, "id");
+    }
+
+    static <E> Specification<E> equal(String field, Object value) {
+        return value == null ? null : (root, query, cb) -> cb.equal(root.get(field), value);
+    }
+
+    static <E> Specification<E> between(String field, LocalDate from, LocalDate to) {
+        if (from == null && to == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            if (from == null) {
+                return cb.lessThanOrEqualTo(root.get(field), to);
+            }
+            if (to == null) {
+                return cb.greaterThanOrEqualTo(root.get(field), from);
+            }
+            return cb.between(root.get(field), from, to);
+        };
+    }
+
+    // (date, id) < (cursorDate, cursorId). The redundant "date <= cursorDate" is what the planner
+    // turns into an index bound; the OR only filters the rows sharing the cursor's date.
+    static <E> Specification<E> after(String dateField, String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        Position position = decode(cursor);
+        return (root, query, cb) -> cb.and(
+            cb.lessThanOrEqualTo(root.get(dateField), position.date()),
+            cb.or(
+                cb.lessThan(root.get(dateField), position.date()),
+                cb.lessThan(root.get("id"), position.id())
+            )
+        );
+    }
+
+    // rows were fetched with one extra to tell whether another page exists
+    static <E, D> PageDTO<D> page(List<E> rows, int pageSize,
+                                  Function<E, LocalDate> date, Function<E, Long> id, Function<E, D> toDTO) {
+        boolean hasMore = rows.size() > pageSize;
+        List<E> page = hasMore ? rows.subList(0, pageSize) : rows;
+        E last = hasMore ? page.get(page.size() - 1) : null;
+        return PageDTO.<D>builder()
+            .items(page.stream().map(toDTO).toList())
+            .hasMore(hasMore)
+            .nextCursor(last != null ? encode(date.apply(last), id.apply(last)) : null)
+            .build();
+    }
+
+    private record Position(LocalDate date, long id) {
+    }
+
+    static String encode(LocalDate date, long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString((date + ":" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Position decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf(':');
+            return new Position(LocalDate.parse(value.substring(0, separator)), Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor);
+        }
+    }
+}
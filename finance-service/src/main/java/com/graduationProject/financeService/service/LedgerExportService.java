@@ -0,0 +1,262 @@
+package com.graduationProject.financeService.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.graduationProject.financeService.enums.ExportFormat;
+import com.graduationProject.financeService.exception.ExportCapacityExceededException;
+import com.graduationProject.financeService.model.Expense;
+import com.graduationProject.financeService.model.Invoice;
+import com.graduationProject.financeService.model.Payroll;
+import com.graduationProject.financeService.repository.ExpenseRepository;
+import com.graduationProject.financeService.repository.InvoiceRepository;
+import com.graduationProject.financeService.repository.PayrollRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+// Month-end exports. Rows come from a server-side cursor inside one read-only transaction and
+// are written to the response as they arrive, then detached, so neither the result set nor the
+// persistence context grows with the row count. One column list per entity drives both formats.
+// Each export holds a pool connection until the client has read the last row, so only a few may
+// run at once (the rest get 503 + Retry-After), and Postgres ends one whose client stops reading.
+@Slf4j
+@Service
+public class LedgerExportService {
+
+    private static final LocalDate MIN_DATE = LocalDate.of(1, 1, 1);
+    private static final LocalDate MAX_DATE = LocalDate.of(9999, 12, 31);
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private record Column<E>(String name, Function<E, Object> value) {
+    }
+
+    private static final List<Column<Expense>> EXPENSE_COLUMNS = List.of(
+        new Column<>("id", Expense::getId),
+        new Column<>("expenseDate", Expense::getExpenseDate),
+        new Column<>("title", Expense::getTitle),
+        new Column<>("category", Expense::getCategory),
+        new Column<>("amount", Expense::getAmount),
+        new Column<>("description", Expense::getDescription),
+        new Column<>("createdBy", Expense::getCreatedBy),
+        new Column<>("createdAt", Expense::getCreatedAt)
+    );
+
+    private static final List<Column<Invoice>> INVOICE_COLUMNS = List.of(
+        new Column<>("id", Invoice::getId),
+        new Column<>("invoiceNumber", Invoice::getInvoiceNumber),
+        new Column<>("issueDate", Invoice::getIssueDate),
+        new Column<>("dueDate", Invoice::getDueDate),
+        new Column<>("clientName", Invoice::getClientName),
+        new Column<>("clientEmail", Invoice::getClientEmail),
+        new Column<>("amount", Invoice::getAmount),
+        new Column<>("taxAmount", Invoice::getTaxAmount),
+        new Column<>("totalAmount", Invoice::getTotalAmount),
+        new Column<>("status", Invoice::getStatus),
+        new Column<>("description", Invoice::getDescription)
+    );
+
+    private static final List<Column<Payroll>> PAYROLL_COLUMNS = List.of(
+        new Column<>("id", Payroll::getId),
+        new Column<>("employeeId", Payroll::getEmployeeId),
+        new Column<>("employeeName", Payroll::getEmployeeName),
+        new Column<>("employeeEmail", Payroll::getEmployeeEmail),
+        new Column<>("payPeriodStart", Payroll::getPayPeriodStart),
+        new Column<>("payPeriodEnd", Payroll::getPayPeriodEnd),
+        new Column<>("paymentDate", Payroll::getPaymentDate),
+        new Column<>("baseSalary", Payroll::getBaseSalary),
+        new Column<>("allowances", Payroll::getAllowances),
+        new Column<>("deductions", Payroll::getDeductions),
+        new Column<>("netSalary", Payroll::getNetSalary),
+        new Column<>("status", Payroll::getStatus),
+        new Column<>("notes", Payroll::getNotes)
+    );
+
+    private final ExpenseRepository expenseRepository;
+    private final InvoiceRepository invoiceRepository;
+    private final PayrollRepository payrollRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Semaphore slots;
+    private final long retryAfterSeconds;
+    private final String statementTimeout;
+    private final String idleInTransactionTimeout;
+    private final JsonFactory jsonFactory = JsonFactory.builder()
+        .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+        .build();
+
+    public LedgerExportService(ExpenseRepository expenseRepository,
+                               InvoiceRepository invoiceRepository,
+                               PayrollRepository payrollRepository,
+                               EntityManager entityManager,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${finance.export.max-concurrent:2}") int maxConcurrent,
+                               @Value("${finance.export.retry-after:30s}") Duration retryAfter,
+                               @Value("${finance.export.statement-timeout:60s}") Duration statementTimeout,
+                               @Value("${finance.export.idle-in-transaction-timeout:30s}") Duration idleInTransactionTimeout) {
+        this.expenseRepository = expenseRepository;
+        this.invoiceRepository = invoiceRepository;
+        this.payrollRepository = payrollRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.slots = new Semaphore(maxConcurrent);
+        this.retryAfterSeconds = retryAfter.toSeconds();
+        this.statementTimeout = statementTimeout.toMillis() + "ms";
+        this.idleInTransactionTimeout = idleInTransactionTimeout.toMillis() + "ms";
+    }
+
+    public long exportExpenses(ExportFormat format, LocalDate from, LocalDate to, Supplier<OutputStream> out) {
+        return export("expenses", format, EXPENSE_COLUMNS,
+            () -> expenseRepository.streamByExpenseDateBetween(orMin(from), orMax(to)), out);
+    }
+
+    public long exportInvoices(ExportFormat format, LocalDate from, LocalDate to, Supplier<OutputStream> out) {
+        return export("invoices", format, INVOICE_COLUMNS,
+            () -> invoiceRepository.streamByIssueDateBetween(orMin(from), orMax(to)), out);
+    }
+
+    public long exportPayrolls(ExportFormat format, LocalDate from, LocalDate to, Supplier<OutputStream> out) {
+        return export("payrolls", format, PAYROLL_COLUMNS,
+            () -> payrollRepository.streamByPaymentDateBetween(orMin(from), orMax(to)), out);
+    }
+
+    // out is only opened once a slot is taken, so a refused export can still answer with an error body
+    private <E> long export(String name, ExportFormat format, List<Column<E>> columns,
+                            Supplier<Stream<E>> query, Supplier<OutputStream> out) {
+        if (!slots.tryAcquire()) {
+            throw new ExportCapacityExceededException("Too many exports in progress, try again later", retryAfterSeconds);
+        }
+        try {
+            long started = System.nanoTime();
+            Long rows = readOnlyTransaction.execute(status -> {
+                applyTimeouts();
+                Writer writer = new BufferedWriter(new OutputStreamWriter(out.get(), StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+                try (Stream<E> stream = query.get()) {
+                    long count = format == ExportFormat.CSV
+                        ? writeCsv(stream.iterator(), columns, writer)
+                        : writeNdjson(stream.iterator(), columns, writer);
+                    writer.flush();
+                    return count;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            log.info("Exported {} {} as {} in {} ms", rows, name, format, (System.nanoTime() - started) / 1_000_000);
+            return rows != null ? rows : 0;
+        } finally {
+            slots.release();
+        }
+    }
+
+    // Transaction-scoped. statement_timeout bounds each cursor fetch; idle_in_transaction_session_timeout
+    // ends the session when a slow client leaves the connection idle between fetches for too long.
+    private void applyTimeouts() {
+        entityManager.createNativeQuery("select set_config('statement_timeout', :statement, true), "
+                + "set_config('idle_in_transaction_session_timeout', :idle, true)")
+            .setParameter("statement", statementTimeout)
+            .setParameter("idle", idleInTransactionTimeout)
+            .getSingleResult();
+    }
+
+    private <E> long writeNdjson(Iterator<E> rows, List<Column<E>> columns, Writer writer) throws IOException {
+        long count = 0;
+        try (JsonGenerator json = jsonFactory.createGenerator(writer)) {
+            while (rows.hasNext()) {
+                E row = rows.next();
+                json.writeStartObject();
+                for (Column<E> column : columns) {
+                    Object value = column.value().apply(row);
+                    json.writeFieldName(column.name());
+                    if (value == null) {
+                        json.writeNull();
+                    } else if (value instanceof BigDecimal decimal) {
+                        json.writeNumber(decimal);
+                    } else if (value instanceof Long number) {
+                        json.writeNumber(number);
+                    } else {
+                        json.writeString(value.toString());
+                    }
+                }
+                json.writeEndObject();
+                json.writeRaw('\n');
+                entityManager.detach(row);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private <E> long writeCsv(Iterator<E> rows, List<Column<E>> columns, Writer writer) throws IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            writer.write(i == 0 ? "" : ",");
+            writer.write(columns.get(i).name());
+        }
+        writer.write("\r\n");
+        long count = 0;
+        while (rows.hasNext()) {
+            E row = rows.next();
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                Object value = columns.get(i).value().apply(row);
+                if (value instanceof String text) {
+                    writeCsvText(text, writer);
+                } else if (value != null) {
+                    writer.write(value.toString());
+                }
+            }
+            writer.write("\r\n");
+            entityManager.detach(row);
+            count++;
+        }
+        return count;
+    }
+
+    // RFC 4180 quoting; free text starting with = + - @ is prefixed with ' so a spreadsheet
+    // opening the export does not evaluate it as a formula
+    private static void writeCsvText(String text, Writer writer) throws IOException {
+        boolean formula = !text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0;
+        boolean quote = formula || text.indexOf(',') >= 0 || text.indexOf('"') >= 0
+            || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        if (formula) {
+            writer.write('\'');
+        }
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static LocalDate orMin(LocalDate date) {
+        return date != null ? date : MIN_DATE;
+    }
+
+    private static LocalDate orMax(LocalDate date) {
+        return date != null ? date : MAX_DATE;
+    }
+}
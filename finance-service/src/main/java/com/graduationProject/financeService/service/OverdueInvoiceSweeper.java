@@ -0,0 +1,129 @@
+package com.graduationProject.financeService.service;
+
+import com.graduationProject.financeService.repository.InvoiceRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+// Moves past-due SENT invoices to OVERDUE. Every replica schedules it, but a Postgres advisory
+// lock lets only one of them sweep at a time; the others count a skipped run. Each chunk is one
+// UPDATE in its own short transaction, so row locks and WAL stay bounded however large the backlog.
+@Slf4j
+@Component
+public class OverdueInvoiceSweeper {
+
+    // session-level advisory lock, held on a pool connection for the duration of a run
+    private static final String LOCK_KEY = "finance-service:overdue-invoice-sweep";
+
+    private final InvoiceRepository invoiceRepository;
+    private final DataSource dataSource;
+    private final TransactionTemplate chunkTransaction;
+    private final int chunkSize;
+    private final Counter marked;
+    private final Counter completed;
+    private final Counter skipped;
+    private final Counter failed;
+    private final Timer duration;
+
+    public OverdueInvoiceSweeper(InvoiceRepository invoiceRepository,
+                                 DataSource dataSource,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${finance.invoices.overdue-sweep.chunk-size:5000}") int chunkSize) {
+        this.invoiceRepository = invoiceRepository;
+        this.dataSource = dataSource;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.marked = Counter.builder("finance.invoices.overdue.marked")
+            .description("Invoices moved from SENT to OVERDUE by the sweeper")
+            .register(meterRegistry);
+        this.completed = run(meterRegistry, "completed");
+        this.skipped = run(meterRegistry, "skipped");
+        this.failed = run(meterRegistry, "failed");
+        this.duration = Timer.builder("finance.invoices.overdue.sweep.duration")
+            .description("Time taken by sweeper runs that held the lock")
+            .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${finance.invoices.overdue-sweep.cron:0 5 * * * *}")
+    public void scheduledSweep() {
+        try {
+            sweep();
+        } catch (RuntimeException e) {
+            log.error("Overdue invoice sweep failed", e);
+        }
+    }
+
+    // Returns the number of invoices marked OVERDUE, 0 when another replica holds the lock
+    public int sweep() {
+        try (Connection lockConnection = dataSource.getConnection()) {
+            if (!advisoryLock(lockConnection, "select pg_try_advisory_lock(hashtext(?))")) {
+                skipped.increment();
+                log.info("Overdue invoice sweep skipped: another instance holds the lock");
+                return 0;
+            }
+            try {
+                return duration.record(this::sweepChunks);
+            } finally {
+                advisoryLock(lockConnection, "select pg_advisory_unlock(hashtext(?))");
+            }
+        } catch (SQLException e) {
+            failed.increment();
+            throw new IllegalStateException("Overdue invoice sweep could not take or release its lock", e);
+        }
+    }
+
+    private int sweepChunks() {
+        LocalDate today = LocalDate.now();
+        long started = System.nanoTime();
+        int total = 0;
+        int chunks = 0;
+        try {
+            int updated;
+            do {
+                Integer rows = chunkTransaction.execute(status -> invoiceRepository.markOverdue(today, chunkSize));
+                updated = rows != null ? rows : 0;
+                total += updated;
+                chunks++;
+                marked.increment(updated);
+            } while (updated == chunkSize);
+        } catch (RuntimeException e) {
+            failed.increment();
+            log.error("Overdue invoice sweep stopped after {} invoices in {} chunks", total, chunks);
+            throw e;
+        }
+        completed.increment();
+        log.info("Overdue invoice sweep marked {} invoices in {} chunks in {} ms",
+            total, chunks, (System.nanoTime() - started) / 1_000_000);
+        return total;
+    }
+
+    private static boolean advisoryLock(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, LOCK_KEY);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() && result.getBoolean(1);
+            }
+        }
+    }
+
+    private static Counter run(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("finance.invoices.overdue.sweeps")
+            .description("Overdue invoice sweeper runs by outcome")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+}
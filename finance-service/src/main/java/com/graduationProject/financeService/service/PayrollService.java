@@ -1,18 +1,20 @@
 package com.graduationProject.financeService.service;
 
+import com.graduationProject.financeService.dto.PageDTO;
 import com.graduationProject.financeService.dto.PayrollDTO;
 import com.graduationProject.financeService.enums.PayrollStatus;
 import com.graduationProject.financeService.exception.ResourceNotFoundException;
 import com.graduationProject.financeService.model.Payroll;
 import com.graduationProject.financeService.repository.PayrollRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -45,10 +47,18 @@ public class PayrollService {
         return toDTO(payrollRepository.save(payroll));
     }
     
-    public List<PayrollDTO> getAllPayrolls() {
-        return payrollRepository.findAll().stream()
-            .map(this::toDTO)
-            .collect(Collectors.toList());
+    // Newest first by (paymentDate, id), one keyset page at a time; see Keyset
+    @Transactional(readOnly = true)
+    public PageDTO<PayrollDTO> getPayrolls(PayrollStatus status, LocalDate from, LocalDate to, String cursor, int limit) {
+        int pageSize = Keyset.pageSize(limit);
+        Specification<Payroll> spec = Specification.allOf(
+            Keyset.equal("status", status),
+            Keyset.between("paymentDate", from, to),
+            Keyset.after("paymentDate", cursor)
+        );
+        Sort sort = Keyset.sort("paymentDate");
+        List<Payroll> rows = payrollRepository.findBy(spec, query -> query.sortBy(sort).limit(pageSize + 1).all());
+        return Keyset.page(rows, pageSize, Payroll::getPaymentDate, Payroll::getId, this::toDTO);
     }
     
     public PayrollDTO getPayrollById(Long id) {
@@ -90,12 +100,6 @@ public class PayrollService {
         payrollRepository.deleteById(id);
     }
     
-    public List<PayrollDTO> getPayrollsByStatus(PayrollStatus status) {
-        return payrollRepository.findByStatus(status).stream()
-            .map(this::toDTO)
-            .collect(Collectors.toList());
-    }
-    
     private PayrollDTO toDTO(Payroll payroll) {
         return PayrollDTO.builder()
             .id(payroll.getId())
@@ -0,0 +1,16 @@
+-- (filter, date, id) indexes behind the keyset-paginated list endpoints, plus (status, due_date, id)
+-- for OverdueInvoiceSweeper. CONCURRENTLY keeps the tables writable while an index is built; the
+-- script runs with autocommit, and IF NOT EXISTS makes every later start a no-op.
+
+create index concurrently if not exists idx_expenses_date_id on expenses (expense_date, id);
+create index concurrently if not exists idx_expenses_category_date_id on expenses (category, expense_date, id);
+
+create index concurrently if not exists idx_invoices_issue_date_id on invoices (issue_date, id);
+create index concurrently if not exists idx_invoices_status_issue_date_id on invoices (status, issue_date, id);
+create index concurrently if not exists idx_invoices_status_due_date_id on invoices (status, due_date, id);
+
+create index concurrently if not exists idx_payrolls_payment_date_id on payrolls (payment_date, id);
+create index concurrently if not exists idx_payrolls_status_payment_date_id on payrolls (status, payment_date, id);
+
+create index concurrently if not exists idx_budgets_start_date_id on budgets (start_date, id);
+create index concurrently if not exists idx_budgets_category_start_date_id on budgets (category, start_date, id);
@@ -0,0 +1,12 @@
+-- Monthly spend per category for the dashboard (model/ExpenseMonthlyRollup). It starts empty;
+-- ExpenseRollupBackfill fills it from the expenses table on the first start.
+
+create table if not exists expense_monthly_rollups (
+    id bigint generated by default as identity primary key,
+    year integer not null,
+    month integer not null,
+    category varchar(255) not null,
+    total_amount numeric(38, 2) not null,
+    expense_count bigint not null,
+    constraint uk_expense_monthly_rollups_key unique (year, month, category)
+);
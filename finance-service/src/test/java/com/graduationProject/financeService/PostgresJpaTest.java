@@ -0,0 +1,29 @@
+package com.graduationProject.financeService;
+
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// @DataJpaTest against a real Postgres, for behaviour an embedded database cannot show (plans,
+// server-side cursors, native upserts, advisory and row locks). The tables are created and
+// dropped, so point it at a scratch database; without one the test class is skipped, e.g.
+//   FINANCE_TEST_DB_URL=jdbc:postgresql://localhost:5432/finance_test mvn test
+// CI runs these against a postgres service container (.github/workflows/finance-service.yml).
+// Extra properties go in a @TestPropertySource on the test class.
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@DataJpaTest(properties = {
+    "spring.datasource.url=${FINANCE_TEST_DB_URL}",
+    "spring.datasource.username=${FINANCE_TEST_DB_USERNAME:postgres}",
+    "spring.datasource.password=${FINANCE_TEST_DB_PASSWORD:}",
+    "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIfEnvironmentVariable(named = "FINANCE_TEST_DB_URL", matches = ".+")
+public @interface PostgresJpaTest {
+}
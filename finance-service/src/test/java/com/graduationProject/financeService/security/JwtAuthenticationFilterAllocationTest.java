@@ -0,0 +1,110 @@
+package com.graduationProject.financeService.security;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+
+import java.lang.management.ManagementFactory;
+import java.security.KeyPair;
+import java.util.Date;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Bytes allocated per request by the filter for a token it has seen before, measured with the
+// per-thread allocation counter. The request wrapper and the reused security context keep the
+// harness itself from allocating.
+class JwtAuthenticationFilterAllocationTest {
+
+    private static final int WARMUP = 20_000;
+    private static final int REQUESTS = 100_000;
+
+    private final com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private JwtAuthenticationFilter filter;
+    private HttpServletRequest request;
+    private MockHttpServletResponse response;
+    private FilterChain chain;
+    private SecurityContext context;
+
+    @BeforeEach
+    void setUp() {
+        KeyPair signing = Keys.keyPairFor(SignatureAlgorithm.ES256);
+        JwksKeyCache jwksKeyCache = new JwksKeyCache("http://localhost/.well-known/jwks.json");
+        jwksKeyCache.setKeys(Map.of("test", signing.getPublic()));
+        VerifiedTokenCache tokenCache = new VerifiedTokenCache(new JwtUtils(jwksKeyCache, LegacyHs256Window.disabled()), new SimpleMeterRegistry(), 100);
+        filter = new JwtAuthenticationFilter(new AuthenticationCache(tokenCache, new RevocationList(), 64));
+
+        long now = System.currentTimeMillis();
+        String header = "Bearer " + Jwts.builder()
+            .setHeaderParam(JwsHeader.KEY_ID, "test")
+            .claim("id", 42L)
+            .claim("role", "Finance")
+            .setSubject("finance@example.com")
+            .setIssuedAt(new Date(now))
+            .setExpiration(new Date(now + 60 * 60 * 1000))
+            .signWith(signing.getPrivate(), SignatureAlgorithm.ES256)
+            .compact();
+        // MockHttpServletRequest lower-cases header names on lookup, which would be counted too
+        request = new HttpServletRequestWrapper(new MockHttpServletRequest("GET", "/api/v1/finance/expenses")) {
+            @Override
+            public String getHeader(String name) {
+                return "Authorization".equals(name) ? header : null;
+            }
+        };
+        response = new MockHttpServletResponse();
+        chain = (req, res) -> { };
+        context = new SecurityContextImpl();
+        SecurityContextHolder.setContext(context);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void authenticatesFromTheToken() throws Exception {
+        filter.doFilterInternal(request, response, chain);
+
+        Authentication authentication = context.getAuthentication();
+        assertThat(authentication).isNotNull();
+        assertThat(authentication.getName()).isEqualTo("finance@example.com");
+        assertThat(authentication.getAuthorities()).extracting("authority").containsExactly("Finance");
+    }
+
+    @Test
+    void repeatedTokenIsAllocationFree() throws Exception {
+        runRequests(WARMUP);
+
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        runRequests(REQUESTS);
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertThat(context.getAuthentication()).isNotNull();
+        assertThat((double) allocated / REQUESTS).as("bytes per request").isLessThan(1.0);
+    }
+
+    private void runRequests(int count) throws Exception {
+        for (int i = 0; i < count; i++) {
+            context.setAuthentication(null);
+            filter.doFilterInternal(request, response, chain);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.graduationProject.financeService.service;
+
+import com.graduationProject.financeService.PostgresJpaTest;
+import com.graduationProject.financeService.dto.BudgetDTO;
+import com.graduationProject.financeService.dto.BudgetReconciliationDTO;
+import com.graduationProject.financeService.dto.ExpenseDTO;
+import com.graduationProject.financeService.enums.BudgetPeriod;
+import com.graduationProject.financeService.enums.ExpenseCategory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Budget running totals, reconciliation and the legacy category backfill
+@PostgresJpaTest
+@Import({ExpenseService.class, BudgetService.class})
+class BudgetSpendingTest {
+
+    @Autowired
+    private ExpenseService expenseService;
+    @Autowired
+    private BudgetService budgetService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long january;
+    private Long quarter;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("finance@example.com", null));
+        expense(ExpenseCategory.TRAVEL, "2024-01-05", "40.00");
+        january = budget("travel", "2024-01-01", "2024-01-31");
+        quarter = budget("TRAVEL", "2024-01-01", "2024-03-31");
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void newBudgetsStartFromTheExpensesAlreadyInTheirWindow() {
+        assertSpent(january, "40.00");
+        assertSpent(quarter, "40.00");
+    }
+
+    @Test
+    void expenseWritesMoveEveryCoveringBudget() {
+        Long id = expense(ExpenseCategory.TRAVEL, "2024-02-10", "100.00");
+        expense(ExpenseCategory.RENT, "2024-01-10", "999.00");
+        assertSpent(january, "40.00");
+        assertSpent(quarter, "140.00");
+
+        // moved into January and changed amount: out of nothing, into both
+        expenseService.updateExpense(id, dto(ExpenseCategory.TRAVEL, "2024-01-20", "60.00"));
+        assertSpent(january, "100.00");
+        assertSpent(quarter, "100.00");
+
+        expenseService.deleteExpense(id);
+        assertSpent(january, "40.00");
+        assertSpent(quarter, "40.00");
+    }
+
+    @Test
+    void utilizationIsReadFromTheRunningTotal() {
+        expense(ExpenseCategory.TRAVEL, "2024-01-06", "960.00");
+
+        var utilization = budgetService.getUtilization(january);
+        assertEquals(0, new BigDecimal("1000.00").compareTo(utilization.getSpentAmount()));
+        assertEquals(0, new BigDecimal("100.00").compareTo(utilization.getUtilizationPercent()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(utilization.getRemainingAmount()));
+    }
+
+    @Test
+    void reconciliationFindsAndRepairsDrift() {
+        jdbcTemplate.update("update budgets set spent_amount = 7 where id = ?", quarter);
+
+        BudgetReconciliationDTO check = budgetService.reconcile(false);
+        assertEquals(1, check.getDrifted());
+        assertEquals(quarter, check.getDrifts().get(0).getBudgetId());
+        assertEquals(0, new BigDecimal("40.00").compareTo(check.getDrifts().get(0).getActualAmount()));
+
+        BudgetReconciliationDTO repair = budgetService.reconcile(true);
+        assertEquals(1, repair.getRepaired());
+        assertTrue(budgetService.reconcile(false).getDrifts().isEmpty());
+        assertSpent(quarter, "40.00");
+    }
+
+    @Test
+    void categoriesMustNameAnExpenseCategory() {
+        assertThrows(IllegalArgumentException.class, () -> budget("Office party", "2024-01-01", "2024-01-31"));
+    }
+
+    @Test
+    void legacyBudgetsAreNormalizedRecomputedAndFlagged() {
+        // written before categories were validated and totals were kept
+        Long padded = jdbcTemplate.queryForObject("insert into budgets (name, category, allocated_amount, spent_amount, period, "
+            + "start_date, end_date, created_at) values ('legacy', ' Travel ', 1000, 0, 'MONTHLY', date '2024-01-01', "
+            + "date '2024-01-31', current_date) returning id", Long.class);
+        Long freeText = jdbcTemplate.queryForObject("insert into budgets (name, category, allocated_amount, spent_amount, period, "
+            + "start_date, end_date, created_at) values ('legacy', 'Office party', 1000, 0, 'MONTHLY', date '2024-01-01', "
+            + "date '2024-01-31', current_date) returning id", Long.class);
+
+        BudgetReconciliationDTO result = budgetService.normalizeLegacyCategories();
+
+        assertEquals(2, result.getNormalized());
+        assertEquals("TRAVEL", jdbcTemplate.queryForObject("select category from budgets where id = ?", String.class, padded));
+        assertSpent(padded, "40.00");
+        assertEquals(List.of(freeText), result.getUnknownCategoryBudgetIds());
+
+        // nothing left to normalize: the full reconcile is skipped on later starts
+        BudgetReconciliationDTO again = budgetService.normalizeLegacyCategories();
+        assertEquals(0, again.getNormalized());
+        assertEquals(0, again.getChecked());
+    }
+
+    private Long expense(ExpenseCategory category, String date, String amount) {
+        return expenseService.createExpense(dto(category, date, amount)).getId();
+    }
+
+    private static ExpenseDTO dto(ExpenseCategory category, String date, String amount) {
+        return ExpenseDTO.builder()
+            .title("expense")
+            .category(category)
+            .amount(new BigDecimal(amount))
+            .expenseDate(LocalDate.parse(date))
+            .build();
+    }
+
+    private Long budget(String category, String start, String end) {
+        return budgetService.createBudget(BudgetDTO.builder()
+            .name("budget")
+            .category(category)
+            .allocatedAmount(new BigDecimal("1000.00"))
+            .period(BudgetPeriod.MONTHLY)
+            .startDate(LocalDate.parse(start))
+            .endDate(LocalDate.parse(end))
+            .build()).getId();
+    }
+
+    private void assertSpent(Long budgetId, String expected) {
+        BigDecimal spent = jdbcTemplate.queryForObject("select spent_amount from budgets where id = ?", BigDecimal.class, budgetId);
+        assertEquals(0, new BigDecimal(expected).compareTo(spent), "budget " + budgetId + " spent " + spent);
+    }
+}
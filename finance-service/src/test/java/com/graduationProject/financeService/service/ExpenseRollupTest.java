@@ -0,0 +1,141 @@
+package com.graduationProject.financeService.service;
+
+import com.graduationProject.financeService.PostgresJpaTest;
+import com.graduationProject.financeService.dto.ExpenseDTO;
+import com.graduationProject.financeService.dto.MonthlyExpenseRollupDTO;
+import com.graduationProject.financeService.enums.ExpenseCategory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Monthly rollups; the upsert and the rebuild are native SQL
+@PostgresJpaTest
+@Import({ExpenseService.class, ExpenseRollupService.class})
+class ExpenseRollupTest {
+
+    private static final String ROLLUPS = "select year, month, category, total_amount, expense_count "
+        + "from expense_monthly_rollups where expense_count <> 0 order by 1, 2, 3";
+
+    @Autowired
+    private ExpenseService expenseService;
+    @Autowired
+    private ExpenseRollupService rollupService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("finance@example.com", null));
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void expenseWritesKeepTheBucketsCurrent() {
+        Long moved = expense(ExpenseCategory.TRAVEL, "2024-01-05", "40.00");
+        expense(ExpenseCategory.TRAVEL, "2024-01-20", "10.00");
+        Long deleted = expense(ExpenseCategory.RENT, "2024-02-01", "500.00");
+
+        expenseService.updateExpense(moved, dto(ExpenseCategory.MARKETING, "2024-03-10", "45.00"));
+        expenseService.deleteExpense(deleted);
+
+        assertBucket(2024, 1, "TRAVEL", "10.00", 1);
+        assertBucket(2024, 2, "RENT", "0.00", 0);
+        assertBucket(2024, 3, "MARKETING", "45.00", 1);
+    }
+
+    @Test
+    void seriesCoverEveryMonthAndCategory() {
+        expense(ExpenseCategory.TRAVEL, "2024-01-05", "40.00");
+        expense(ExpenseCategory.TRAVEL, "2024-01-06", "2.50");
+        expense(ExpenseCategory.RENT, "2024-03-01", "500.00");
+        expense(ExpenseCategory.RENT, "2024-05-01", "999.00");
+
+        MonthlyExpenseRollupDTO rollups = rollupService.getMonthly(YearMonth.of(2023, 12), YearMonth.of(2024, 3));
+
+        assertEquals(List.of(YearMonth.of(2023, 12), YearMonth.of(2024, 1), YearMonth.of(2024, 2), YearMonth.of(2024, 3)),
+            rollups.getMonths());
+        assertEquals(ExpenseCategory.values().length, rollups.getSeries().size());
+        MonthlyExpenseRollupDTO.Series travel = rollups.getSeries().get(ExpenseCategory.TRAVEL.ordinal());
+        assertEquals(ExpenseCategory.TRAVEL, travel.getCategory());
+        assertAmounts(List.of("0", "42.50", "0", "0"), travel.getAmounts());
+        assertEquals(List.of(0L, 2L, 0L, 0L), travel.getCounts());
+        assertAmounts(List.of("0", "42.50", "0", "500.00"), rollups.getTotals());
+        assertThrows(IllegalArgumentException.class, () -> rollupService.getMonthly(YearMonth.of(2024, 3), YearMonth.of(2024, 1)));
+    }
+
+    @Test
+    void rebuildMatchesTheIncrementalTotals() {
+        expense(ExpenseCategory.TRAVEL, "2024-01-05", "40.00");
+        expense(ExpenseCategory.OTHER, "2023-12-31", "7.25");
+        // rows loaded behind the service's back, e.g. before the rollups existed
+        jdbcTemplate.update("insert into expenses (title, category, amount, expense_date, created_by, created_at) "
+            + "select 'import ' || g, 'RENT', 100, date '2023-01-01' + g, 'seed', current_date from generate_series(0, 364) g");
+        jdbcTemplate.update("update expense_monthly_rollups set total_amount = 1 where category = 'OTHER'");
+
+        rollupService.rebuild();
+        List<Map<String, Object>> rebuilt = jdbcTemplate.queryForList(ROLLUPS);
+
+        assertEquals(14, rebuilt.size());
+        assertBucket(2023, 2, "RENT", "2800.00", 28);
+        assertBucket(2023, 12, "OTHER", "7.25", 1);
+        assertBucket(2024, 1, "TRAVEL", "40.00", 1);
+        expense(ExpenseCategory.TRAVEL, "2024-01-06", "1.00");
+        assertBucket(2024, 1, "TRAVEL", "41.00", 2);
+    }
+
+    @Test
+    void anEmptyRollupTableIsFilledOnceAtStartup() {
+        // expenses that predate the rollup table
+        jdbcTemplate.update("insert into expenses (title, category, amount, expense_date, created_by, created_at) "
+            + "select 'import ' || g, 'RENT', 100, date '2023-01-01' + g, 'seed', current_date from generate_series(0, 30) g");
+
+        assertEquals(1, rollupService.rebuildIfEmpty());
+        assertBucket(2023, 1, "RENT", "3100.00", 31);
+        assertEquals(-1, rollupService.rebuildIfEmpty());
+    }
+
+    private Long expense(ExpenseCategory category, String date, String amount) {
+        return expenseService.createExpense(dto(category, date, amount)).getId();
+    }
+
+    private static ExpenseDTO dto(ExpenseCategory category, String date, String amount) {
+        return ExpenseDTO.builder()
+            .title("expense")
+            .category(category)
+            .amount(new BigDecimal(amount))
+            .expenseDate(LocalDate.parse(date))
+            .build();
+    }
+
+    private void assertBucket(int year, int month, String category, String amount, long count) {
+        Map<String, Object> row = jdbcTemplate.queryForMap("select total_amount, expense_count from expense_monthly_rollups "
+            + "where year = ? and month = ? and category = ?", year, month, category);
+        assertEquals(0, new BigDecimal(amount).compareTo((BigDecimal) row.get("total_amount")), year + "-" + month + " " + category);
+        assertEquals(count, ((Number) row.get("expense_count")).longValue(), year + "-" + month + " " + category);
+    }
+
+    private static void assertAmounts(List<String> expected, List<BigDecimal> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(0, new BigDecimal(expected.get(i)).compareTo(actual.get(i)), "at " + i + ": " + actual);
+        }
+    }
+}
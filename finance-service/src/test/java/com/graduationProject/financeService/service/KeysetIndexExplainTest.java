@@ -0,0 +1,169 @@
+package com.graduationProject.financeService.service;
+
+import com.graduationProject.financeService.PostgresJpaTest;
+import com.graduationProject.financeService.dto.ExpenseDTO;
+import com.graduationProject.financeService.dto.PageDTO;
+import com.graduationProject.financeService.enums.ExpenseCategory;
+import com.graduationProject.financeService.enums.InvoiceStatus;
+import com.graduationProject.financeService.enums.PayrollStatus;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Runs the real keyset queries against Postgres and EXPLAINs the SQL Hibernate generated: every
+// page must be read from the matching (filter, date, id) index, in index order, without a Sort
+// or a sequential scan.
+@PostgresJpaTest
+@TestPropertySource(properties = {
+    // filter values become literals, so the captured statement can be EXPLAINed as-is
+    "spring.jpa.properties.hibernate.criteria.value_handling_mode=inline",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.graduationProject.financeService.service.KeysetIndexExplainTest$CapturedSql"
+})
+@Import({ExpenseService.class, InvoiceService.class, PayrollService.class, BudgetService.class})
+class KeysetIndexExplainTest {
+
+    private static final int ROWS = 50_000;
+    private static final int LIMIT = 50;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ExpenseService expenseService;
+    @Autowired
+    private InvoiceService invoiceService;
+    @Autowired
+    private PayrollService payrollService;
+    @Autowired
+    private BudgetService budgetService;
+
+    public static class CapturedSql implements StatementInspector {
+
+        private static final List<String> STATEMENTS = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            synchronized (STATEMENTS) {
+                STATEMENTS.add(sql);
+            }
+            return sql;
+        }
+
+        static void clear() {
+            synchronized (STATEMENTS) {
+                STATEMENTS.clear();
+            }
+        }
+
+        static String lastSelect() {
+            synchronized (STATEMENTS) {
+                for (int i = STATEMENTS.size() - 1; i >= 0; i--) {
+                    if (STATEMENTS.get(i).startsWith("select")) {
+                        return STATEMENTS.get(i);
+                    }
+                }
+            }
+            throw new AssertionError("no select was executed");
+        }
+    }
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("insert into expenses (title, category, amount, expense_date, created_by, created_at) "
+            + "select 'expense ' || g, (array['SALARY','RENT','UTILITIES','OFFICE_SUPPLIES','MARKETING','TRAVEL','MAINTENANCE','OTHER'])[1 + g % 8], "
+            + "10, date '2020-01-01' + g % 1500, 'seed', current_date from generate_series(1, ?) g", ROWS);
+        jdbcTemplate.update("insert into invoices (invoice_number, client_name, client_email, amount, tax_amount, total_amount, "
+            + "issue_date, due_date, status, created_at) "
+            + "select 'INV-' || g, 'client', 'client@example.com', 100, 14, 114, date '2020-01-01' + g % 1500, "
+            + "date '2020-01-31' + g % 1500, (array['DRAFT','SENT','PAID','OVERDUE','CANCELLED'])[1 + g % 5], current_date "
+            + "from generate_series(1, ?) g", ROWS);
+        jdbcTemplate.update("insert into payrolls (employee_id, employee_name, employee_email, base_salary, allowances, deductions, "
+            + "net_salary, pay_period_start, pay_period_end, payment_date, status, created_at) "
+            + "select g % 500, 'employee', 'employee@example.com', 1000, 100, 50, 1050, date '2020-01-01' + g % 1500, "
+            + "date '2020-01-31' + g % 1500, date '2020-02-01' + g % 1500, (array['PENDING','PROCESSED','PAID','CANCELLED'])[1 + g % 4], "
+            + "current_date from generate_series(1, ?) g", ROWS);
+        jdbcTemplate.update("insert into budgets (name, category, allocated_amount, spent_amount, period, start_date, end_date, created_at) "
+            + "select 'budget ' || g, 'CATEGORY ' || g % 20, 1000, 0, 'MONTHLY', date '2020-01-01' + g % 1500, "
+            + "date '2020-01-31' + g % 1500, current_date from generate_series(1, ?) g", ROWS);
+        jdbcTemplate.execute("analyze expenses, invoices, payrolls, budgets");
+    }
+
+    @Test
+    void expensePagesUseTheDateAndCategoryIndexes() {
+        String cursor = expenseService.getExpenses(null, null, null, null, LIMIT).getNextCursor();
+        assertIndexScan("idx_expenses_date_id", () -> expenseService.getExpenses(null, null, null, cursor, LIMIT));
+        assertIndexScan("idx_expenses_date_id", () -> expenseService.getExpenses(
+            null, LocalDate.of(2021, 1, 1), LocalDate.of(2022, 12, 31), cursor, LIMIT));
+        assertIndexScan("idx_expenses_category_date_id", () -> expenseService.getExpenses(
+            ExpenseCategory.TRAVEL, null, null, cursor, LIMIT));
+    }
+
+    @Test
+    void invoicePagesUseTheDateAndStatusIndexes() {
+        String cursor = invoiceService.getInvoices(null, null, null, null, LIMIT).getNextCursor();
+        assertIndexScan("idx_invoices_issue_date_id", () -> invoiceService.getInvoices(null, null, null, cursor, LIMIT));
+        assertIndexScan("idx_invoices_status_issue_date_id", () -> invoiceService.getInvoices(
+            InvoiceStatus.SENT, LocalDate.of(2021, 1, 1), null, cursor, LIMIT));
+    }
+
+    @Test
+    void payrollPagesUseTheDateAndStatusIndexes() {
+        String cursor = payrollService.getPayrolls(null, null, null, null, LIMIT).getNextCursor();
+        assertIndexScan("idx_payrolls_payment_date_id", () -> payrollService.getPayrolls(null, null, null, cursor, LIMIT));
+        assertIndexScan("idx_payrolls_status_payment_date_id", () -> payrollService.getPayrolls(
+            PayrollStatus.PENDING, null, LocalDate.of(2023, 1, 1), cursor, LIMIT));
+    }
+
+    @Test
+    void budgetPagesUseTheDateAndCategoryIndexes() {
+        String cursor = budgetService.getBudgets(null, null, null, null, LIMIT).getNextCursor();
+        assertIndexScan("idx_budgets_start_date_id", () -> budgetService.getBudgets(null, null, null, cursor, LIMIT));
+        assertIndexScan("idx_budgets_category_start_date_id", () -> budgetService.getBudgets(
+            "category 7", null, null, cursor, LIMIT));
+    }
+
+    @Test
+    void walkingThePagesReturnsEveryRowOnceInOrder() {
+        Integer expected = jdbcTemplate.queryForObject("select count(*) from expenses where category = 'RENT'", Integer.class);
+        List<ExpenseDTO> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            PageDTO<ExpenseDTO> page = expenseService.getExpenses(ExpenseCategory.RENT, null, null, cursor, 500);
+            seen.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(expected, seen.size());
+        for (int i = 1; i < seen.size(); i++) {
+            ExpenseDTO previous = seen.get(i - 1);
+            ExpenseDTO current = seen.get(i);
+            int byDate = current.getExpenseDate().compareTo(previous.getExpenseDate());
+            assertTrue(byDate < 0 || (byDate == 0 && current.getId() < previous.getId()),
+                "rows out of (expenseDate, id) descending order at " + i);
+        }
+    }
+
+    private void assertIndexScan(String index, Supplier<?> page) {
+        CapturedSql.clear();
+        page.get();
+        // the page size is still a bind parameter
+        String sql = CapturedSql.lastSelect().replace("?", String.valueOf(LIMIT + 1));
+        String plan = String.join("\n", jdbcTemplate.queryForList("explain " + sql, String.class));
+        assertTrue(plan.contains("Index Scan") && plan.contains(index), "expected a scan of " + index + ":\n" + plan);
+        assertFalse(plan.contains("Sort"), "expected rows in index order:\n" + plan);
+        assertFalse(plan.contains("Seq Scan"), "unexpected sequential scan:\n" + plan);
+    }
+}
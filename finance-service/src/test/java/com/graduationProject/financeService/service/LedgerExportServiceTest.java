@@ -0,0 +1,120 @@
+package com.graduationProject.financeService.service;
+
+import com.graduationProject.financeService.PostgresJpaTest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.graduationProject.financeService.enums.ExportFormat;
+import com.graduationProject.financeService.exception.ExportCapacityExceededException;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Exports through a server-side cursor (fetch size only streams on Postgres)
+@PostgresJpaTest
+@Import(LedgerExportService.class)
+@TestPropertySource(properties = {
+    "finance.export.max-concurrent=1",
+    "finance.export.retry-after=15s",
+    "finance.export.statement-timeout=45s",
+    "finance.export.idle-in-transaction-timeout=20s"
+})
+class LedgerExportServiceTest {
+
+    private static final int ROWS = 5_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private LedgerExportService exportService;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("insert into expenses (title, category, amount, expense_date, created_by, created_at) "
+            + "select 'expense ' || g, 'TRAVEL', g / 100.0, date '2024-01-01' + g % 365, 'seed', current_date "
+            + "from generate_series(1, ?) g", ROWS);
+        jdbcTemplate.update("insert into expenses (title, category, amount, expense_date, description, created_by, created_at) values "
+            + "('Lunch, \"team\"', 'OTHER', 12.50, date '2023-06-01', 'line one\nline two', 'seed', current_date), "
+            + "('=SUM(A1:A9)', 'OTHER', 1, date '2023-06-02', null, 'seed', current_date)");
+    }
+
+    @Test
+    void ndjsonHasOneObjectPerRowInDateOrder() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = exportService.exportExpenses(ExportFormat.NDJSON, null, null, () -> out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(ROWS + 2, rows);
+        assertEquals(ROWS + 2, lines.length);
+        ObjectMapper mapper = new ObjectMapper();
+        JsonNode first = mapper.readTree(lines[0]);
+        assertEquals("Lunch, \"team\"", first.get("title").asText());
+        assertEquals("line one\nline two", first.get("description").asText());
+        assertTrue(first.get("amount").isNumber());
+        LocalDate previous = LocalDate.MIN;
+        for (String line : lines) {
+            LocalDate date = LocalDate.parse(mapper.readTree(line).get("expenseDate").asText());
+            assertTrue(!date.isBefore(previous), "rows out of date order");
+            previous = date;
+        }
+    }
+
+    @Test
+    void csvQuotesFreeTextAndDefusesFormulas() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = exportService.exportExpenses(ExportFormat.CSV, LocalDate.of(2023, 1, 1), LocalDate.of(2023, 12, 31), () -> out);
+
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertEquals(2, rows);
+        assertTrue(csv.startsWith("id,expenseDate,title,category,amount,description,createdBy,createdAt\r\n"));
+        assertTrue(csv.contains(",2023-06-01,\"Lunch, \"\"team\"\"\",OTHER,12.50,\"line one\nline two\",seed,"));
+        assertTrue(csv.contains(",2023-06-02,\"'=SUM(A1:A9)\",OTHER,1.00,,seed,"));
+    }
+
+    @Test
+    void exportedRowsDoNotStayInThePersistenceContext() {
+        exportService.exportExpenses(ExportFormat.CSV, null, null, ByteArrayOutputStream::new);
+
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    void exportsBeyondTheLimitAreRefusedBeforeTheResponseIsOpened() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = exportService.exportExpenses(ExportFormat.CSV, LocalDate.of(2023, 1, 1), LocalDate.of(2023, 12, 31), () -> {
+            ExportCapacityExceededException refused = assertThrows(ExportCapacityExceededException.class,
+                () -> exportService.exportInvoices(ExportFormat.CSV, null, null, () -> {
+                    throw new AssertionError("response opened for a refused export");
+                }));
+            assertEquals(15, refused.getRetryAfterSeconds());
+            return out;
+        });
+
+        assertEquals(2, rows);
+        exportService.exportPayrolls(ExportFormat.CSV, null, null, ByteArrayOutputStream::new);
+    }
+
+    @Test
+    void exportRunsWithStatementAndIdleTimeouts() {
+        exportService.exportExpenses(ExportFormat.CSV, null, null, () -> {
+            assertEquals("45s", jdbcTemplate.queryForObject("select current_setting('statement_timeout')", String.class));
+            assertEquals("20s", jdbcTemplate.queryForObject(
+                "select current_setting('idle_in_transaction_session_timeout')", String.class));
+            return new ByteArrayOutputStream();
+        });
+    }
+}
@@ -0,0 +1,83 @@
+package com.graduationProject.financeService.service;
+
+import com.graduationProject.financeService.PostgresJpaTest;
+import com.graduationProject.financeService.repository.InvoiceRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Overdue sweep: advisory lock and for update skip locked
+@PostgresJpaTest
+class OverdueInvoiceSweeperTest {
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OverdueInvoiceSweeper sweeper;
+
+    @BeforeEach
+    void setUp() {
+        sweeper = new OverdueInvoiceSweeper(invoiceRepository, dataSource, transactionManager, meterRegistry, 7);
+        // 25 past-due SENT, 5 SENT due today or later, 10 past-due in other states
+        insert("SENT", "current_date - 1 - g % 30", 25);
+        insert("SENT", "current_date + g % 3", 5);
+        insert("PAID", "current_date - 10", 5);
+        insert("DRAFT", "current_date - 10", 5);
+    }
+
+    @Test
+    void movesEveryPastDueSentInvoiceInChunks() {
+        assertEquals(25, sweeper.sweep());
+
+        Map<String, Long> byStatus = jdbcTemplate.queryForList("select status, count(*) n from invoices group by status").stream()
+            .collect(Collectors.toMap(row -> (String) row.get("status"), row -> ((Number) row.get("n")).longValue()));
+        assertEquals(Map.of("OVERDUE", 25L, "SENT", 5L, "PAID", 5L, "DRAFT", 5L), byStatus);
+        assertEquals(0, jdbcTemplate.queryForObject(
+            "select count(*) from invoices where status = 'OVERDUE' and (due_date >= current_date or updated_at is null)", Integer.class));
+        assertEquals(25, meterRegistry.counter("finance.invoices.overdue.marked").count());
+        assertEquals(1, meterRegistry.counter("finance.invoices.overdue.sweeps", "outcome", "completed").count());
+
+        assertEquals(0, sweeper.sweep());
+    }
+
+    @Test
+    void skipsTheRunWhileAnotherInstanceHoldsTheLock() throws Exception {
+        try (Connection other = dataSource.getConnection();
+             PreparedStatement lock = other.prepareStatement("select pg_advisory_lock(hashtext('finance-service:overdue-invoice-sweep'))")) {
+            lock.execute();
+
+            assertEquals(0, sweeper.sweep());
+            assertEquals(1, meterRegistry.counter("finance.invoices.overdue.sweeps", "outcome", "skipped").count());
+            assertEquals(25, jdbcTemplate.queryForObject(
+                "select count(*) from invoices where status = 'SENT' and due_date < current_date", Integer.class));
+
+            other.prepareStatement("select pg_advisory_unlock_all()").execute();
+        }
+        assertEquals(25, sweeper.sweep());
+    }
+
+    private void insert(String status, String dueDate, int rows) {
+        jdbcTemplate.update("insert into invoices (invoice_number, client_name, client_email, amount, tax_amount, total_amount, "
+            + "issue_date, due_date, status, created_at) "
+            + "select 'INV-" + status + "-' || g || '-' || md5(random()::text), 'client', 'client@example.com', 100, 14, 114, "
+            + "current_date - 60, " + dueDate + ", '" + status + "', current_date from generate_series(1, ?) g", rows);
+    }
+}
@@ -2,8 +2,10 @@ package com.graduationProject.hrService;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class HrServiceApplication {
 	public static void main(String[] args) {
 		SpringApplication.run(HrServiceApplication.class, args);
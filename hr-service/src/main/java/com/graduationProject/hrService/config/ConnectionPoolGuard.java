@@ -0,0 +1,139 @@
+package com.graduationProject.hrService.config;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+
+// The three services share one Postgres database, so their pools together must fit in
+// max_connections. Every instance records its share (maximum pool size plus connections held
+// outside the pool, e.g. the revocation LISTEN connection) in db_connection_budgets and
+// refreshes it on a heartbeat; the sum of live rows is checked at startup and on every resize.
+// mode=fail refuses to start over budget, mode=warn only logs, mode=off skips the table entirely.
+@Slf4j
+@Component
+public class ConnectionPoolGuard implements ApplicationRunner {
+
+    public enum Mode { OFF, WARN, FAIL }
+
+    public record Budget(int allocated, int available) {
+        public boolean exceeded() {
+            return allocated > available;
+        }
+    }
+
+    private static final String CREATE_TABLE = "create table if not exists db_connection_budgets ("
+            + "service varchar(64) not null, instance varchar(255) not null, connections integer not null, "
+            + "updated_at timestamptz not null default now(), primary key (service, instance))";
+
+    private final HikariDataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final Mode mode;
+    private final int extraConnections;
+    private final int reservedConnections;
+    private final Duration staleAfter;
+    private final String instance = ManagementFactory.getRuntimeMXBean().getName();
+    private volatile boolean registered;
+
+    public ConnectionPoolGuard(HikariDataSource dataSource,
+                               JdbcTemplate jdbcTemplate,
+                               @Value("${db.pool.guard.mode:warn}") Mode mode,
+                               @Value("${db.pool.guard.extra-connections:1}") int extraConnections,
+                               @Value("${db.pool.guard.reserved-connections:10}") int reservedConnections,
+                               @Value("${db.pool.guard.stale-after:3m}") Duration staleAfter) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.mode = mode;
+        this.extraConnections = extraConnections;
+        this.reservedConnections = reservedConnections;
+        this.staleAfter = staleAfter;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (mode == Mode.OFF) {
+            return;
+        }
+        jdbcTemplate.execute(CREATE_TABLE);
+        Budget budget = check(dataSource.getMaximumPoolSize());
+        if (budget.exceeded() && mode == Mode.FAIL) {
+            throw new IllegalStateException(describe(budget));
+        }
+        register(dataSource.getMaximumPoolSize());
+        if (budget.exceeded()) {
+            log.warn(describe(budget));
+        } else {
+            log.info("Connection pool {} within budget: {} of {} connections allocated across services",
+                    dataSource.getPoolName(), budget.allocated(), budget.available());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${db.pool.guard.heartbeat-interval:PT1M}")
+    public void heartbeat() {
+        if (!registered) {
+            return;
+        }
+        try {
+            register(dataSource.getMaximumPoolSize());
+        } catch (Exception e) {
+            log.warn("Could not refresh connection budget for {}: {}", dataSource.getPoolName(), e.getMessage());
+        }
+    }
+
+    // Applies a new size to the running pool unless it would push the shared total over budget.
+    // Hikari opens connections up to the new maximum on demand and retires idle ones above
+    // minimumIdle after idle-timeout, so shrinking never interrupts a borrowed connection.
+    public synchronized Budget resize(int maximumPoolSize, int minimumIdle) {
+        Budget budget = mode == Mode.OFF ? null : check(maximumPoolSize);
+        if (budget != null && budget.exceeded()) {
+            throw new IllegalStateException(describe(budget));
+        }
+        HikariConfigMXBean config = dataSource.getHikariConfigMXBean();
+        config.setMaximumPoolSize(maximumPoolSize);
+        config.setMinimumIdle(minimumIdle);
+        if (budget != null) {
+            register(maximumPoolSize);
+        }
+        log.info("Connection pool {} resized to maximumPoolSize={}, minimumIdle={}",
+                dataSource.getPoolName(), maximumPoolSize, minimumIdle);
+        return budget;
+    }
+
+    // null until this instance has registered (mode=off, or still starting)
+    public Budget current() {
+        return registered ? check(dataSource.getMaximumPoolSize()) : null;
+    }
+
+    public Budget check(int maximumPoolSize) {
+        Integer others = jdbcTemplate.queryForObject(
+                "select coalesce(sum(connections), 0) from db_connection_budgets "
+                        + "where not (service = ? and instance = ?) and updated_at > now() - (? * interval '1 second')",
+                Integer.class, dataSource.getPoolName(), instance, staleAfter.toSeconds());
+        Integer limit = jdbcTemplate.queryForObject(
+                "select cast(current_setting('max_connections') as integer) "
+                        + "- cast(current_setting('superuser_reserved_connections') as integer)",
+                Integer.class);
+        return new Budget(others + maximumPoolSize + extraConnections, limit - reservedConnections);
+    }
+
+    private void register(int maximumPoolSize) {
+        jdbcTemplate.update("insert into db_connection_budgets (service, instance, connections, updated_at) values (?, ?, ?, now()) "
+                        + "on conflict (service, instance) do update set connections = excluded.connections, updated_at = now()",
+                dataSource.getPoolName(), instance, maximumPoolSize + extraConnections);
+        registered = true;
+    }
+
+    private String describe(Budget budget) {
+        return "Connection pool " + dataSource.getPoolName() + " would bring the services sharing this database to "
+                + budget.allocated() + " connections, but Postgres allows " + budget.available()
+                + " (max_connections minus superuser and db.pool.guard.reserved-connections)";
+    }
+}
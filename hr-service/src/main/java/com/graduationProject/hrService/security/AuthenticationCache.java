@@ -0,0 +1,97 @@
+package com.graduationProject.hrService.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Direct-mapped cache of ready-made Authentications, looked up straight from the Authorization
+// header: the token is hashed and compared in place, so a repeated token costs one pass over
+// its characters and allocates nothing. Misses (and slot collisions) go through
+// VerifiedTokenCache and replace the slot. Expiry and revocation are checked on every hit.
+@Component
+public class AuthenticationCache {
+
+    static final String BEARER_PREFIX = "Bearer ";
+    private static final int TOKEN_OFFSET = BEARER_PREFIX.length();
+
+    private record Entry(String token, Authentication authentication, Long userId, Instant issuedAt, long expiresAtMillis) {
+    }
+
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final RevocationList revocationList;
+    private final AtomicReferenceArray<Entry> slots;
+    private final int mask;
+
+    public AuthenticationCache(VerifiedTokenCache verifiedTokenCache,
+                               RevocationList revocationList,
+                               @Value("${jwt.cache.hot-slots:4096}") int slots) {
+        int size = Integer.highestOneBit(Math.max(slots, 2) - 1) << 1;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.revocationList = revocationList;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    // authHeader must start with "Bearer "; null when the token is malformed, invalid, expired or revoked
+    public Authentication get(String authHeader) {
+        int length = authHeader.length() - TOKEN_OFFSET;
+        int hash = hash(authHeader);
+        if (hash == 0) {
+            return null;
+        }
+        int slot = hash & mask;
+        Entry entry = slots.get(slot);
+        if (entry == null || entry.token().length() != length
+                || !authHeader.regionMatches(TOKEN_OFFSET, entry.token(), 0, length)) {
+            entry = load(authHeader, slot);
+            if (entry == null) {
+                return null;
+            }
+        }
+        if (entry.expiresAtMillis() <= System.currentTimeMillis()
+                || revocationList.isRevoked(entry.userId(), entry.issuedAt())) {
+            return null;
+        }
+        return entry.authentication();
+    }
+
+    private Entry load(String authHeader, int slot) {
+        String token = authHeader.substring(TOKEN_OFFSET);
+        VerifiedToken verified = verifiedTokenCache.get(token);
+        if (verified == null || verified.subject() == null) {
+            return null;
+        }
+        // shared by every request carrying this token, so it carries no per-request details
+        Authentication authentication = UsernamePasswordAuthenticationToken.authenticated(
+            verified.subject(), null, Authorities.forRole(verified.role()));
+        long expiresAt = verified.expiresAt() != null ? verified.expiresAt().toEpochMilli() : Long.MAX_VALUE;
+        Entry entry = new Entry(token, authentication, verified.id(), verified.issuedAt(), expiresAt);
+        if (verified.expiresAt() != null) {
+            slots.set(slot, entry);
+        }
+        return entry;
+    }
+
+    // Hash of the token part, or 0 when it cannot be a compact JWS (header.payload.signature),
+    // so garbage is rejected without reaching the parser and its exceptions
+    private static int hash(String authHeader) {
+        int h = 1;
+        int dots = 0;
+        for (int i = TOKEN_OFFSET, n = authHeader.length(); i < n; i++) {
+            char c = authHeader.charAt(i);
+            if (c == '.') {
+                dots++;
+            }
+            h = 31 * h + c;
+        }
+        if (dots != 2 || authHeader.length() == TOKEN_OFFSET) {
+            return 0;
+        }
+        h ^= h >>> 16;
+        return h != 0 ? h : 1;
+    }
+}
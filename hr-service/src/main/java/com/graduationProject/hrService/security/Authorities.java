@@ -0,0 +1,40 @@
+package com.graduationProject.hrService.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
+// One shared authority list per known role, so building an Authentication does not allocate
+// a SimpleGrantedAuthority and a list for every token
+final class Authorities {
+
+    private static final List<GrantedAuthority> ADMIN = of("ADMIN");
+    private static final List<GrantedAuthority> HR = of("HR");
+    private static final List<GrantedAuthority> FINANCE = of("Finance");
+    private static final List<GrantedAuthority> DOCTOR = of("DOCTOR");
+    private static final List<GrantedAuthority> STUDENT = of("STUDENT");
+    private static final List<GrantedAuthority> USER = of("USER");
+
+    private Authorities() {
+    }
+
+    static List<GrantedAuthority> forRole(String role) {
+        if (role == null) {
+            return USER;
+        }
+        return switch (role) {
+            case "ADMIN" -> ADMIN;
+            case "HR" -> HR;
+            case "Finance" -> FINANCE;
+            case "DOCTOR" -> DOCTOR;
+            case "STUDENT" -> STUDENT;
+            case "USER" -> USER;
+            default -> of(role);
+        };
+    }
+
+    private static List<GrantedAuthority> of(String role) {
+        return List.of(new SimpleGrantedAuthority(role));
+    }
+}
@@ -0,0 +1,105 @@
+package com.graduationProject.hrService.security;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+// In-memory copy of token_revocations: per user, every token issued at or before the
+// watermark (epoch milliseconds) is revoked. A Bloom filter over the user ids answers the common
+// "never revoked" case with a few array reads - no lock, no allocation. Writers are rare and
+// publish a new immutable snapshot.
+@Component
+public class RevocationList {
+
+    private static final int BLOOM_BITS = 1 << 16; // 8 KiB, ~1% false positives at 6k revoked users
+    private static final int BLOOM_MASK = BLOOM_BITS - 1;
+    private static final int HASHES = 4;
+
+    private record Snapshot(long[] bloom, Map<Long, Long> watermarks) {
+    }
+
+    private volatile Snapshot snapshot = new Snapshot(new long[BLOOM_BITS / 64], Map.of());
+
+    public boolean isRevoked(Long userId, Instant issuedAt) {
+        if (userId == null) {
+            return false;
+        }
+        Snapshot current = snapshot;
+        if (!mightContain(current.bloom(), userId)) {
+            return false;
+        }
+        Long watermark = current.watermarks().get(userId);
+        return watermark != null && (issuedAt == null || issuedAt.toEpochMilli() <= watermark);
+    }
+
+    public synchronized void revoke(long userId, long revokedBeforeEpochMilli) {
+        Snapshot current = snapshot;
+        Long existing = current.watermarks().get(userId);
+        if (existing != null && existing >= revokedBeforeEpochMilli) {
+            return;
+        }
+        Map<Long, Long> watermarks = new HashMap<>(current.watermarks());
+        watermarks.put(userId, revokedBeforeEpochMilli);
+        long[] bloom = current.bloom().clone();
+        add(bloom, userId);
+        snapshot = new Snapshot(bloom, Map.copyOf(watermarks));
+    }
+
+    public synchronized void revokeAll(Collection<Long> userIds, long revokedBeforeEpochMilli) {
+        Snapshot current = snapshot;
+        Map<Long, Long> watermarks = new HashMap<>(current.watermarks());
+        long[] bloom = current.bloom().clone();
+        for (Long userId : userIds) {
+            watermarks.merge(userId, revokedBeforeEpochMilli, Math::max);
+            add(bloom, userId);
+        }
+        snapshot = new Snapshot(bloom, Map.copyOf(watermarks));
+    }
+
+    // Full resync; also drops users whose watermark fell out of the retention window
+    public synchronized void replaceAll(Map<Long, Long> watermarks) {
+        long[] bloom = new long[BLOOM_BITS / 64];
+        for (Long userId : watermarks.keySet()) {
+            add(bloom, userId);
+        }
+        snapshot = new Snapshot(bloom, Map.copyOf(watermarks));
+    }
+
+    public int size() {
+        return snapshot.watermarks().size();
+    }
+
+    private static boolean mightContain(long[] bloom, long userId) {
+        long hash = mix(userId);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < HASHES; i++) {
+            int bit = (h1 + i * h2) & BLOOM_MASK;
+            if ((bloom[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void add(long[] bloom, long userId) {
+        long hash = mix(userId);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < HASHES; i++) {
+            int bit = (h1 + i * h2) & BLOOM_MASK;
+            bloom[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    // SplitMix64 finalizer, spreads sequential ids over the whole bit array
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
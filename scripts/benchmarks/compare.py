@@ -0,0 +1,65 @@
+#!/usr/bin/env python3
+"""Compare two JMH JSON results (scripts/benchmarks/run.sh) benchmark by benchmark.
+
+    scripts/benchmarks/compare.py baseline.json benchmarks/results/latest.json [--threshold 10]
+
+Prints time per op and bytes per op (gc.alloc.rate.norm) side by side and exits with 1 when
+any benchmark got slower, or allocates more, by more than the threshold percent.
+"""
+import argparse
+import json
+import sys
+
+
+def load(path):
+    results = {}
+    with open(path) as f:
+        for run in json.load(f):
+            params = run.get("params") or {}
+            key = run["benchmark"] + "".join(f" {k}={v}" for k, v in sorted(params.items()))
+            alloc = run.get("secondaryMetrics", {}).get("gc.alloc.rate.norm", {}).get("score")
+            results[key] = (run["primaryMetric"]["score"], run["primaryMetric"]["scoreUnit"], alloc)
+    return results
+
+
+def change(old, new):
+    if old is None or new is None:
+        return None
+    if old == 0:
+        return 0.0 if new == 0 else float("inf")
+    return (new - old) / old * 100
+
+
+def main():
+    parser = argparse.ArgumentParser()
+    parser.add_argument("baseline")
+    parser.add_argument("current")
+    parser.add_argument("--threshold", type=float, default=10.0, help="allowed regression in percent")
+    args = parser.parse_args()
+
+    baseline, current = load(args.baseline), load(args.current)
+    regressions = []
+    print(f"{'benchmark':70} {'baseline':>14} {'current':>14} {'time':>8} {'B/op':>10} {'alloc':>8}")
+    for key in sorted(current):
+        score, unit, alloc = current[key]
+        if key not in baseline:
+            print(f"{key:70} {'-':>14} {score:>10.2f} {unit:<3} (new)")
+            continue
+        old_score, _, old_alloc = baseline[key]
+        time_change, alloc_change = change(old_score, score), change(old_alloc, alloc)
+        alloc_text = f"{alloc_change:+7.1f}%" if alloc_change is not None else "-"
+        print(f"{key:70} {old_score:>10.2f} {unit:<3} {score:>10.2f} {unit:<3} {time_change:+7.1f}% "
+              f"{alloc if alloc is not None else 0:>10.0f} {alloc_text:>8}")
+        if time_change > args.threshold or (alloc_change is not None and alloc_change > args.threshold):
+            regressions.append(key)
+
+    if regressions:
+        print(f"\n{len(regressions)} regression(s) above {args.threshold}%:")
+        for key in regressions:
+            print(f"  {key}")
+        return 1
+    return 0
+
+
+if __name__ == "__main__":
+    sys.exit(main())
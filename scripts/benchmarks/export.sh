@@ -0,0 +1,54 @@
+#!/usr/bin/env bash
+# End-to-end benchmark of the streaming ledger export (GET /api/v1/finance/export/*).
+#
+#   TOKEN=... scripts/benchmarks/export.sh seed              # top expenses up to ROWS (default 5M)
+#   TOKEN=... scripts/benchmarks/export.sh run [base-url]    # NDJSON and CSV, timed
+#
+# seed talks to Postgres through psql (PSQL, default: the compose postgres container) and only
+# inserts the rows that are missing, so it can be re-run. run downloads each export to
+# /dev/null while sampling the service's heap from /actuator/prometheus once a second, and
+# prints rows, bytes, wall time, throughput and peak heap. The heap should stay flat with ROWS.
+set -euo pipefail
+
+ROWS="${ROWS:-5000000}"
+PSQL="${PSQL:-docker compose exec -T postgres psql -U postgres -d gp -v ON_ERROR_STOP=1}"
+
+seed() {
+  $PSQL <<SQL
+insert into expenses (title, category, amount, expense_date, description, created_by, created_at)
+select 'benchmark expense ' || g,
+       (array['SALARY','RENT','UTILITIES','OFFICE_SUPPLIES','MARKETING','TRAVEL','MAINTENANCE','OTHER'])[1 + g % 8],
+       round((random() * 5000)::numeric, 2), date '2015-01-01' + g % 3650, 'seeded by export.sh', 'benchmark', current_date
+from generate_series((select count(*) from expenses) + 1, $ROWS) g;
+analyze expenses;
+SQL
+}
+
+heap_bytes() {
+  curl -sf "$1/actuator/prometheus" \
+    | awk '/^jvm_memory_used_bytes\{.*area="heap"/ { sum += $NF } END { printf "%.0f\n", sum }'
+}
+
+run() {
+  local base_url="${1:-http://localhost:8082}"
+  : "${TOKEN:?TOKEN must hold an access token with the Finance role}"
+  for format in NDJSON CSV; do
+    local peak=0 sampler out
+    out="$(mktemp)"
+    ( while true; do heap_bytes "$base_url" || true; sleep 1; done ) > "$out" &
+    sampler=$!
+    curl -sf -o /dev/null -H "Authorization: Bearer $TOKEN" \
+      -w "$format: %{size_download} bytes in %{time_total} s (%{speed_download} bytes/s)\n" \
+      "$base_url/api/v1/finance/export/expenses?format=$format"
+    kill "$sampler" 2>/dev/null || true
+    peak="$(sort -n "$out" | tail -1)"
+    rm -f "$out"
+    echo "$format: peak heap $(( ${peak:-0} / 1048576 )) MiB"
+  done
+}
+
+case "${1:-}" in
+  seed) seed ;;
+  run) shift; run "$@" ;;
+  *) echo "usage: $0 seed | run [base-url]" >&2; exit 1 ;;
+esac
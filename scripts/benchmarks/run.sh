@@ -0,0 +1,19 @@
+#!/usr/bin/env bash
+# Builds the JMH module and runs it with the GC profiler, writing JMH's JSON result to
+# benchmarks/results/<timestamp>.json (and latest.json). Extra arguments go to JMH, e.g.
+#
+#   scripts/benchmarks/run.sh                                  # everything
+#   scripts/benchmarks/run.sh 'hrService.*JwtFilter' -f 2      # one suite, two forks
+#
+# Keep a result from a quiet machine as the baseline and diff later runs with compare.py.
+set -euo pipefail
+
+ROOT="$(cd "$(dirname "$0")/../.." && pwd)"
+RESULTS="$ROOT/benchmarks/results"
+OUT="$RESULTS/$(date +%Y%m%d-%H%M%S).json"
+
+mvn -B -q -f "$ROOT/benchmarks/pom.xml" package -DskipTests
+mkdir -p "$RESULTS"
+java -jar "$ROOT/benchmarks/target/benchmarks.jar" -prof gc -rf json -rff "$OUT" "$@"
+cp "$OUT" "$RESULTS/latest.json"
+echo "Results written to $OUT"
@@ -0,0 +1,35 @@
+// k6 scenario for the virtual-thread comparison: VUS concurrent connections, each repeating a
+// blocking read (JWT filter + JDBC query) for DURATION. Run through virtual-threads.sh, which
+// sweeps 1k/5k/10k for the current execution mode and keeps each summary as JSON.
+//
+//   k6 run -e BASE_URL=http://localhost:8081 -e PATH_UNDER_TEST=/api/v1/hr/attendances \
+//       -e TOKEN=... -e VUS=1000 scripts/loadtest/concurrency.js
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8081';
+const PATH_UNDER_TEST = __ENV.PATH_UNDER_TEST || '/api/v1/hr/attendances';
+const VUS = parseInt(__ENV.VUS || '1000', 10);
+
+export const options = {
+  scenarios: {
+    concurrent_reads: {
+      executor: 'constant-vus',
+      vus: VUS,
+      duration: __ENV.DURATION || '60s',
+    },
+  },
+  summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export default function () {
+  const res = http.get(`${BASE_URL}${PATH_UNDER_TEST}`, {
+    headers: { Authorization: `Bearer ${__ENV.TOKEN}` },
+    timeout: '30s',
+  });
+  check(res, { 'status 200': (r) => r.status === 200 });
+}
+
+export function handleSummary(data) {
+  return { [__ENV.SUMMARY || 'summary.json']: JSON.stringify(data) };
+}
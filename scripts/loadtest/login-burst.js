@@ -0,0 +1,54 @@
+// k6 scenario: a login storm against authentication-service while a second scenario keeps
+// hitting a cheap endpoint. The thresholds fail the run if the cheap endpoint's latency
+// degrades, or if overloaded logins are not shed quickly with 503 + Retry-After.
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e EMAIL=user@example.com -e PASSWORD='Secret123!' \
+//       scripts/loadtest/login-burst.js
+//
+// A single email from a single host is throttled by LoginRateLimiter long before the hashing
+// pool fills up; raise security.login-rate-limit.* on the target to exercise the 503 path.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+
+export const options = {
+  scenarios: {
+    login_burst: {
+      executor: 'constant-arrival-rate',
+      exec: 'login',
+      rate: 500,
+      timeUnit: '1s',
+      duration: '60s',
+      preAllocatedVUs: 200,
+      maxVUs: 1000,
+    },
+    other_endpoints: {
+      executor: 'constant-arrival-rate',
+      exec: 'health',
+      rate: 50,
+      timeUnit: '1s',
+      duration: '60s',
+      preAllocatedVUs: 20,
+    },
+  },
+  thresholds: {
+    'http_req_duration{scenario:other_endpoints}': ['p(99)<100'],
+    'http_req_duration{scenario:login_burst,status:503}': ['p(99)<50'],
+    'http_req_duration{scenario:login_burst,status:429}': ['p(99)<20'],
+  },
+};
+
+export function login() {
+  const res = http.post(`${BASE_URL}/api/v1/auth/login`,
+    JSON.stringify({ email: __ENV.EMAIL, password: __ENV.PASSWORD }),
+    { headers: { 'Content-Type': 'application/json' } });
+  check(res, {
+    'accepted or shed': (r) => r.status === 200
+      || ((r.status === 503 || r.status === 429) && r.headers['Retry-After'] !== undefined),
+  });
+}
+
+export function health() {
+  check(http.get(`${BASE_URL}/actuator/health`), { 'health ok': (r) => r.status === 200 });
+}
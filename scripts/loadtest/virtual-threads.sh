@@ -0,0 +1,60 @@
+#!/usr/bin/env bash
+# Comparative load test of the platform-thread and virtual-thread execution modes.
+#
+# 1. Start the stack with VIRTUAL_THREADS=false, then run
+#      TOKEN=... scripts/loadtest/virtual-threads.sh run platform [base-url] [path]
+# 2. Restart it with VIRTUAL_THREADS=true, then run
+#      TOKEN=... scripts/loadtest/virtual-threads.sh run virtual [base-url] [path]
+# 3. scripts/loadtest/virtual-threads.sh report > virtual-threads-report.md
+#
+# Each run sweeps 1k, 5k and 10k concurrent connections (LEVELS to override) and stores the
+# k6 summaries in reports/virtual-threads/. The report tabulates throughput, latency
+# percentiles and errors per mode and level, plus the pinning count scraped after each run.
+# The load generator needs `ulimit -n` well above the largest level.
+set -euo pipefail
+
+ROOT="$(cd "$(dirname "$0")/../.." && pwd)"
+OUT="$ROOT/reports/virtual-threads"
+LEVELS="${LEVELS:-1000 5000 10000}"
+
+run() {
+  local mode="$1" base_url="${2:-http://localhost:8081}" path="${3:-/api/v1/hr/attendances}"
+  : "${TOKEN:?TOKEN must hold an access token allowed to call the path under test}"
+  mkdir -p "$OUT"
+  for vus in $LEVELS; do
+    echo "== $mode, $vus connections"
+    k6 run --quiet \
+      -e BASE_URL="$base_url" -e PATH_UNDER_TEST="$path" -e TOKEN="$TOKEN" -e VUS="$vus" \
+      -e DURATION="${DURATION:-60s}" -e SUMMARY="$OUT/$mode-$vus.json" \
+      "$ROOT/scripts/loadtest/concurrency.js" || true
+    # 0 in platform mode, where the pinning monitor is not active
+    curl -sf -H "Authorization: Bearer $TOKEN" "$base_url/actuator/metrics/jvm.threads.virtual.pinned" \
+      | jq '[.measurements[] | select(.statistic == "COUNT") | .value][0] // 0' > "$OUT/$mode-$vus.pinned" \
+      || echo 0 > "$OUT/$mode-$vus.pinned"
+  done
+}
+
+report() {
+  echo "| mode | connections | req/s | p50 ms | p95 ms | p99 ms | failed | pinned (cumulative) |"
+  echo "|------|-------------|-------|--------|--------|--------|--------|---------------------|"
+  for mode in platform virtual; do
+    for vus in $LEVELS; do
+      local summary="$OUT/$mode-$vus.json"
+      [ -f "$summary" ] || continue
+      jq -r --arg mode "$mode" --arg vus "$vus" --arg pinned "$(cat "$OUT/$mode-$vus.pinned" 2>/dev/null || echo -)" '
+        .metrics as $m
+        | "| \($mode) | \($vus) | \($m.http_reqs.values.rate | floor)"
+        + " | \($m.http_req_duration.values["p(50)"] | floor)"
+        + " | \($m.http_req_duration.values["p(95)"] | floor)"
+        + " | \($m.http_req_duration.values["p(99)"] | floor)"
+        + " | \(($m.http_req_failed.values.rate * 100 * 100 | floor) / 100)%"
+        + " | \($pinned) |"' "$summary"
+    done
+  done
+}
+
+case "${1:-}" in
+  run) shift; run "$@" ;;
+  report) report ;;
+  *) echo "usage: $0 run <platform|virtual> [base-url] [path] | report" >&2; exit 2 ;;
+esac